@@ -0,0 +1,38 @@
+package com.example.tracker.benchmark;
+
+import com.example.tracker.model.CloudCost;
+import com.example.tracker.model.User;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Synthetic cost rows with a fixed seed, so every run and every commit measures the same data.
+// Cardinalities roughly match a mid-sized AWS account.
+final class BenchmarkData {
+
+    static final long SEED = 42;
+    static final int SERVICES = 40;
+    static final int REGIONS = 20;
+    static final int USAGE_TYPES = 300;
+    static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    static List<CloudCost> cloudCosts(int rows) {
+        Random random = new Random(SEED);
+        User user = new User("benchmark", "", "arn:aws:iam::123456789012:role/benchmark");
+        user.setId(1L);
+        List<CloudCost> cloudCosts = new ArrayList<>(rows);
+        for (long i = 0; i < rows; i++) {
+            LocalDate day = FIRST_DAY.plusDays(random.nextInt(365));
+            CloudCost cloudCost = new CloudCost("Service " + random.nextInt(SERVICES), random.nextDouble() * 50,
+                    "UsageType-" + random.nextInt(USAGE_TYPES), "region-" + random.nextInt(REGIONS), day, day.plusDays(1), user);
+            cloudCost.setId(i + 1);
+            cloudCosts.add(cloudCost);
+        }
+        return cloudCosts;
+    }
+}
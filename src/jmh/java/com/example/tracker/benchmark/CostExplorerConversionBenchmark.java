@@ -0,0 +1,82 @@
+package com.example.tracker.benchmark;
+
+import com.amazonaws.services.costexplorer.model.DateInterval;
+import com.amazonaws.services.costexplorer.model.GetCostAndUsageResult;
+import com.amazonaws.services.costexplorer.model.ResultByTime;
+import com.example.tracker.model.CloudCost;
+import com.example.tracker.model.User;
+import com.example.tracker.service.CostExplorerService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// CostExplorerService.toCloudCosts over a fixed GetCostAndUsage response page in the service's
+// JSON wire format (src/jmh/resources/costexplorer; 3 days, 189 groups, no real account data).
+// The page is repeated on consecutive days to reach the size of a long backfill chunk; the groups
+// stay identical so results remain comparable.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CostExplorerConversionBenchmark {
+
+    private static final String PAYLOAD = "/costexplorer/get-cost-and-usage-page.json";
+
+    @Param({"1", "30"})
+    private int copies;
+
+    private List<ResultByTime> resultsByTime;
+    private User user;
+
+    @Setup
+    public void setUp() throws IOException {
+        // The payload is in the service's wire format (PascalCase), which the SDK model setters accept
+        ObjectMapper objectMapper = new ObjectMapper()
+                .setPropertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        GetCostAndUsageResult recorded;
+        try (InputStream in = CostExplorerConversionBenchmark.class.getResourceAsStream(PAYLOAD)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark payload " + PAYLOAD);
+            }
+            recorded = objectMapper.readValue(in, GetCostAndUsageResult.class);
+        }
+
+        resultsByTime = new ArrayList<>();
+        for (int copy = 0; copy < copies; copy++) {
+            for (ResultByTime result : recorded.getResultsByTime()) {
+                LocalDate start = LocalDate.parse(result.getTimePeriod().getStart()).plusDays((long) copy * recorded.getResultsByTime().size());
+                resultsByTime.add(result.clone().withTimePeriod(new DateInterval()
+                        .withStart(start.toString())
+                        .withEnd(start.plusDays(1).toString())));
+            }
+        }
+        user = new User("benchmark", "", "arn:aws:iam::123456789012:role/benchmark");
+        user.setId(1L);
+    }
+
+    @Benchmark
+    public List<CloudCost> toCloudCosts() {
+        return CostExplorerService.toCloudCosts(resultsByTime, user);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.tracker.benchmark;
+
+import com.example.tracker.cube.CostCube;
+import com.example.tracker.cube.CubeDimension;
+import com.example.tracker.cube.CubeQuery;
+import com.example.tracker.dto.CostCubeRowDTO;
+import com.example.tracker.model.CloudCost;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Cost-by-service grouping, as behind getCloudCostSummary: the original per-entity stream grouping,
+// a plain map loop, and the same question answered by the in-memory CostCube.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CostSummaryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private List<CloudCost> cloudCosts;
+    private CostCube cube;
+    private CubeQuery byService;
+
+    @Setup
+    public void setUp() {
+        cloudCosts = BenchmarkData.cloudCosts(rows);
+        cube = new CostCube(rows);
+        for (CloudCost cloudCost : cloudCosts) {
+            cube.add(cloudCost.getServiceName(), cloudCost.getRegion(), cloudCost.getUsageType(),
+                    cloudCost.getStartDate(), cloudCost.getCost());
+        }
+        byService = new CubeQuery(EnumSet.of(CubeDimension.SERVICE), null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Map<String, Double> streamGroupingBy() {
+        return cloudCosts.stream()
+                .collect(Collectors.groupingBy(CloudCost::getServiceName, Collectors.summingDouble(CloudCost::getCost)));
+    }
+
+    @Benchmark
+    public Map<String, Double> mapMergeLoop() {
+        Map<String, Double> totals = new HashMap<>();
+        for (CloudCost cloudCost : cloudCosts) {
+            totals.merge(cloudCost.getServiceName(), cloudCost.getCost(), Double::sum);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public List<CostCubeRowDTO> costCube() {
+        return cube.query(byService);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.tracker.benchmark;
+
+import com.example.tracker.dto.CloudCostResponseDTO;
+import com.example.tracker.model.CloudCost;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity-to-DTO mapping and JSON encoding of one response page, separately and together
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ResponseMappingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int rows;
+
+    private List<CloudCost> cloudCosts;
+    private List<CloudCostResponseDTO> dtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        cloudCosts = BenchmarkData.cloudCosts(rows);
+        dtos = toDtos(cloudCosts);
+        // Same date handling as the ObjectMapper Spring Boot configures for the controllers
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public List<CloudCostResponseDTO> mapToDtos() {
+        return toDtos(cloudCosts);
+    }
+
+    @Benchmark
+    public byte[] serializeDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(toDtos(cloudCosts));
+    }
+
+    private static List<CloudCostResponseDTO> toDtos(List<CloudCost> cloudCosts) {
+        List<CloudCostResponseDTO> dtos = new ArrayList<>(cloudCosts.size());
+        for (CloudCost cloudCost : cloudCosts) {
+            dtos.add(new CloudCostResponseDTO(cloudCost));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.tracker.config;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+import com.amazonaws.services.costexplorer.AWSCostExplorer;
+import com.amazonaws.services.costexplorer.AWSCostExplorerClientBuilder;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClientBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+// The two AWS SDK clients the application uses. Both are thread-safe and shared by every tenant.
+// They are lazy so the application starts without AWS region or credentials configured. Tests and
+// load harnesses replace them with @Primary beans to run without AWS.
+// Retries are disabled on both because AwsApiThrottle handles retries and backoff.
+@Configuration
+public class AwsClientConfig {
+
+    @Value("${aws.cost-explorer.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${aws.cost-explorer.connection-max-idle-millis:60000}")
+    private long connectionMaxIdleMillis;
+
+    @Bean
+    @Lazy
+    public AWSSecurityTokenService stsClient() {
+        return AWSSecurityTokenServiceClientBuilder.standard()
+                .withClientConfiguration(new ClientConfiguration()
+                        .withRetryPolicy(PredefinedRetryPolicies.NO_RETRY_POLICY))
+                .build();
+    }
+
+    // One client, and so one HTTP connection pool, for all tenants (see CostExplorerClientRegistry)
+    @Bean
+    @Lazy
+    public AWSCostExplorer costExplorerClient() {
+        ClientConfiguration clientConfiguration = new ClientConfiguration()
+                .withMaxConnections(maxConnections)
+                .withConnectionMaxIdleMillis(connectionMaxIdleMillis)
+                .withTcpKeepAlive(true)
+                .withReaper(true)
+                .withRetryPolicy(PredefinedRetryPolicies.NO_RETRY_POLICY);
+        return AWSCostExplorerClientBuilder.standard()
+                .withClientConfiguration(clientConfiguration)
+                .build();
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.tracker.controller;
 
+import com.example.tracker.dto.LoginRequestDTO;
+import com.example.tracker.dto.TokenResponseDTO;
 import com.example.tracker.dto.UserRegistrationDTO;
 import com.example.tracker.model.User;
+import com.example.tracker.security.AuthenticatedUser;
+import com.example.tracker.security.TokenService;
 import com.example.tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -15,6 +23,12 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private TokenService tokenService;
+
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@RequestBody UserRegistrationDTO registrationDTO) {
         try {
@@ -27,5 +41,16 @@ public class AuthController {
         }
     }
 
-    // Login endpoint will be handled by Spring Security's default form login or a custom filter
+    // Checks the password once and hands back a signed token for the Authorization header
+    @PostMapping("/login")
+    public ResponseEntity<?> login(@RequestBody LoginRequestDTO loginRequestDTO) {
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(loginRequestDTO.getUsername(), loginRequestDTO.getPassword()));
+            String token = tokenService.issue((AuthenticatedUser) authentication.getPrincipal());
+            return ResponseEntity.ok(new TokenResponseDTO(token, "Bearer", tokenService.getTtlSeconds()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password.");
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package com.example.tracker.controller;
+
+import com.example.tracker.dto.BackfillJobDTO;
+import com.example.tracker.dto.BackfillRequestDTO;
+import com.example.tracker.model.BackfillJob;
+import com.example.tracker.security.CurrentUser;
+import com.example.tracker.service.BackfillService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/backfills")
+public class BackfillController {
+
+    @Autowired
+    private BackfillService backfillService;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @PostMapping
+    public ResponseEntity<?> startBackfill(@RequestBody BackfillRequestDTO requestDTO) {
+        try {
+            Long userId = currentUser.getId();
+            BackfillJob job = backfillService.createJob(userId, requestDTO.getFrom(), requestDTO.getTo());
+            backfillService.start(job.getId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(backfillService.getJob(job.getId(), userId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getBackfill(@PathVariable Long id) {
+        try {
+            BackfillJobDTO job = backfillService.getJob(id, currentUser.getId());
+            return ResponseEntity.ok(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    // Retries the chunks that are not completed, including ones that used up their attempts
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<?> resumeBackfill(@PathVariable Long id) {
+        try {
+            Long userId = currentUser.getId();
+            backfillService.getJob(id, userId);
+            backfillService.resetFailedChunks(id);
+            backfillService.start(id);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(backfillService.getJob(id, userId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.example.tracker.controller;
 
+import com.example.tracker.dto.CloudCostPageDTO;
 import com.example.tracker.dto.CloudCostRequestDTO;
 import com.example.tracker.dto.CloudCostResponseDTO;
+import com.example.tracker.dto.CostCubeRowDTO;
+import com.example.tracker.dto.CostTrendPointDTO;
+import com.example.tracker.security.CurrentUser;
 import com.example.tracker.service.CloudCostService;
+import com.example.tracker.service.TenantDataVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -18,10 +26,31 @@ public class CloudCostController {
     @Autowired
     private CloudCostService cloudCostService;
 
+    @Autowired
+    private CurrentUser currentUser;
+
+    @Autowired
+    private TenantDataVersionService tenantDataVersionService;
+
     @GetMapping
-    public ResponseEntity<List<CloudCostResponseDTO>> getAllCloudCosts() {
-        List<CloudCostResponseDTO> cloudCostList = cloudCostService.getAllCloudCosts();
-        return ResponseEntity.status(HttpStatus.OK).body(cloudCostList);
+    public ResponseEntity<?> getAllCloudCosts(
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String service,
+            @RequestParam(required = false) String region,
+            @RequestParam(required = false) String usageType,
+            WebRequest request) {
+        if (notModified(request)) {
+            return null; // 304 Not Modified, answered before any query
+        }
+        try {
+            CloudCostPageDTO page = cloudCostService.getCloudCostPage(limit, cursor, from, to, service, region, usageType);
+            return ResponseEntity.ok().cacheControl(TenantDataVersionService.CACHE_CONTROL).body(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @PostMapping
@@ -41,6 +70,8 @@ public class CloudCostController {
         try {
             CloudCostResponseDTO updatedCloudCost = cloudCostService.updateCloudCost(id, requestDTO);
             return new ResponseEntity<>(updatedCloudCost, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR); // Or a custom error response
         }
@@ -57,8 +88,61 @@ public class CloudCostController {
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<Map<String, Double>> getCloudCostSummary() {
-        Map<String, Double> summary = cloudCostService.getCloudCostSummary();
-        return ResponseEntity.ok(summary);
+    public ResponseEntity<?> getCloudCostSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) {
+        if (notModified(request)) {
+            return null; // 304 Not Modified, answered before any query
+        }
+        try {
+            Map<String, Double> summary = cloudCostService.getCloudCostSummary(from, to);
+            return ResponseEntity.ok().cacheControl(TenantDataVersionService.CACHE_CONTROL).body(summary);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/trend")
+    public ResponseEntity<?> getCloudCostTrend(
+            @RequestParam(defaultValue = "daily") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) {
+        if (notModified(request)) {
+            return null; // 304 Not Modified, answered before any query
+        }
+        try {
+            List<CostTrendPointDTO> trend = cloudCostService.getCloudCostTrend(granularity, from, to);
+            return ResponseEntity.ok().cacheControl(TenantDataVersionService.CACHE_CONTROL).body(trend);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // e.g. /cube?groupBy=service,region&usageType=BoxUsage:t3.micro&from=2024-01-01
+    @GetMapping("/cube")
+    public ResponseEntity<?> queryCostCube(
+            @RequestParam(required = false) List<String> groupBy,
+            @RequestParam(required = false) List<String> service,
+            @RequestParam(required = false) List<String> region,
+            @RequestParam(required = false) List<String> usageType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request) {
+        if (notModified(request)) {
+            return null; // 304 Not Modified, answered before any query
+        }
+        try {
+            List<CostCubeRowDTO> rows = cloudCostService.queryCostCube(groupBy, service, region, usageType, from, to);
+            return ResponseEntity.ok().cacheControl(TenantDataVersionService.CACHE_CONTROL).body(rows);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Sets the tenant's data version as the ETag; true if the client's copy is still current
+    private boolean notModified(WebRequest request) {
+        return request.checkNotModified(tenantDataVersionService.etag(currentUser.getId()));
     }
 }
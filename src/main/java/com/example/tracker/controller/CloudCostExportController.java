@@ -0,0 +1,59 @@
+package com.example.tracker.controller;
+
+import com.example.tracker.security.CurrentUser;
+import com.example.tracker.service.CloudCostExportService;
+import com.example.tracker.service.CloudCostExportService.ExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/cloud-costs/export")
+public class CloudCostExportController {
+
+    @Autowired
+    private CloudCostExportService cloudCostExportService;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @GetMapping
+    public ResponseEntity<?> exportCloudCosts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.parse(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("'from' must not be after 'to'");
+        }
+        // Resolve the user on the request thread; the body is written on an async thread
+        Long userId = currentUser.getId();
+
+        StreamingResponseBody body = out -> cloudCostExportService.export(userId, from, to, exportFormat, out);
+        String fileName = exportFormat == ExportFormat.CSV ? "cloud-costs.csv" : "cloud-costs.ndjson";
+        MediaType contentType = exportFormat == ExportFormat.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.tracker.controller;
+
+import com.example.tracker.dto.CostForecastDTO;
+import com.example.tracker.security.CurrentUser;
+import com.example.tracker.service.CostForecastService;
+import com.example.tracker.service.TenantDataVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/forecasts")
+public class CostForecastController {
+
+    @Autowired
+    private CostForecastService costForecastService;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @Autowired
+    private TenantDataVersionService tenantDataVersionService;
+
+    @GetMapping
+    public ResponseEntity<List<CostForecastDTO>> getMonthEndForecasts(@RequestParam(required = false) String service,
+                                                                      WebRequest request) {
+        Long userId = currentUser.getId();
+        if (request.checkNotModified(tenantDataVersionService.etag(userId))) {
+            return null; // 304 Not Modified
+        }
+        return ResponseEntity.ok()
+                .cacheControl(TenantDataVersionService.CACHE_CONTROL)
+                .body(costForecastService.getMonthEndForecasts(userId, service));
+    }
+}
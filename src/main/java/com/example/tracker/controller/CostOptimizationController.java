@@ -1,19 +1,18 @@
 package com.example.tracker.controller;
 
 import com.example.tracker.dto.RecommendationResponseDTO;
-import com.example.tracker.model.User;
-import com.example.tracker.repository.UserRepository;
+import com.example.tracker.security.CurrentUser;
 import com.example.tracker.service.CostOptimizationService;
+import com.example.tracker.service.TenantDataVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/recommendations")
@@ -23,20 +22,18 @@ public class CostOptimizationController {
     private CostOptimizationService costOptimizationService;
 
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
 
-    private User getCurrentAuthenticatedUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found in database."));
-    }
+    @Autowired
+    private TenantDataVersionService tenantDataVersionService;
 
     @GetMapping
-    public ResponseEntity<List<RecommendationResponseDTO>> getRecommendationsForCurrentUser() {
-        User currentUser = getCurrentAuthenticatedUser();
-        List<RecommendationResponseDTO> recommendations = costOptimizationService.getRecommendationsForUser(currentUser).stream()
-                .map(RecommendationResponseDTO::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(recommendations);
+    public ResponseEntity<List<RecommendationResponseDTO>> getRecommendationsForCurrentUser(WebRequest request) {
+        Long userId = currentUser.getId();
+        if (request.checkNotModified(tenantDataVersionService.etag(userId))) {
+            return null; // 304 Not Modified, answered before any query
+        }
+        List<RecommendationResponseDTO> recommendations = costOptimizationService.getRecommendationsForUser(userId);
+        return ResponseEntity.ok().cacheControl(TenantDataVersionService.CACHE_CONTROL).body(recommendations);
     }
 }
@@ -0,0 +1,250 @@
+package com.example.tracker.cube;
+
+import com.example.tracker.dto.CostCubeRowDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Columnar, dictionary-encoded copy of one tenant's cloud_costs rows. Each cell (service, region,
+// usage type, day) is a position in parallel primitive arrays, so a query is a single pass over
+// ints and doubles that allocates nothing per row.
+public class CostCube {
+
+    // The natural key is packed into 63 bits: service | region | usage type | epoch day
+    private static final int REGION_BITS = 11;
+    private static final int USAGE_TYPE_BITS = 24;
+    private static final int DAY_BITS = 16;
+    private static final int MAX_SERVICES = 1 << 12;
+    private static final int MAX_REGIONS = 1 << REGION_BITS;
+    private static final int MAX_USAGE_TYPES = 1 << USAGE_TYPE_BITS;
+    private static final int MAX_DAY = (1 << DAY_BITS) - 1;
+
+    private final DimensionDictionary services = new DimensionDictionary();
+    private final DimensionDictionary regions = new DimensionDictionary();
+    private final DimensionDictionary usageTypes = new DimensionDictionary();
+    private final LongIntHashMap rowIndex;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private int[] serviceIds;
+    private int[] regionIds;
+    private int[] usageTypeIds;
+    private int[] days;
+    private double[] costs;
+    private int minDay = Integer.MAX_VALUE;
+    private int maxDay = Integer.MIN_VALUE;
+    private volatile long lastAccessMillis = System.currentTimeMillis();
+    // The tenant data version the cube is known to reflect (see TenantDataVersionService)
+    private final AtomicLong dataVersion = new AtomicLong(-1);
+
+    public CostCube() {
+        this(1024);
+    }
+
+    public CostCube(int expectedRows) {
+        int capacity = Math.max(16, expectedRows);
+        serviceIds = new int[capacity];
+        regionIds = new int[capacity];
+        usageTypeIds = new int[capacity];
+        days = new int[capacity];
+        costs = new double[capacity];
+        rowIndex = new LongIntHashMap(capacity);
+    }
+
+    // Adds to the cell; used while loading from the database
+    public void add(String serviceName, String region, String usageType, LocalDate date, double cost) {
+        write(serviceName, region, usageType, date, cost, false);
+    }
+
+    // Overwrites the cell, mirroring the natural-key upsert used by ingestion
+    public void put(String serviceName, String region, String usageType, LocalDate date, double cost) {
+        write(serviceName, region, usageType, date, cost, true);
+    }
+
+    private void write(String serviceName, String region, String usageType, LocalDate date, double cost, boolean overwrite) {
+        long epochDay = date.toEpochDay();
+        if (epochDay < 0 || epochDay > MAX_DAY) {
+            throw new IllegalStateException("Date " + date + " is outside the range the cube can encode");
+        }
+        lock.writeLock().lock();
+        try {
+            int serviceId = services.idOf(serviceName);
+            int regionId = regions.idOf(region);
+            int usageTypeId = usageTypes.idOf(usageType);
+            if (serviceId >= MAX_SERVICES || regionId >= MAX_REGIONS || usageTypeId >= MAX_USAGE_TYPES) {
+                throw new IllegalStateException("Too many distinct dimension values for the cube");
+            }
+            int day = (int) epochDay;
+            long key = ((((long) serviceId << REGION_BITS | regionId) << USAGE_TYPE_BITS | usageTypeId) << DAY_BITS) | day;
+
+            int row = rowIndex.get(key, -1);
+            if (row < 0) {
+                ensureCapacity();
+                row = size++;
+                serviceIds[row] = serviceId;
+                regionIds[row] = regionId;
+                usageTypeIds[row] = usageTypeId;
+                days[row] = day;
+                costs[row] = cost;
+                rowIndex.put(key, row);
+                minDay = Math.min(minDay, day);
+                maxDay = Math.max(maxDay, day);
+            } else {
+                costs[row] = overwrite ? cost : costs[row] + cost;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<CostCubeRowDTO> query(CubeQuery query) {
+        lock.readLock().lock();
+        try {
+            if (size == 0) {
+                return new ArrayList<>();
+            }
+            boolean[] serviceFilter = filterMask(services, query.getServices());
+            boolean[] regionFilter = filterMask(regions, query.getRegions());
+            boolean[] usageTypeFilter = filterMask(usageTypes, query.getUsageTypes());
+            int fromDay = query.getFrom() != null ? (int) Math.max(query.getFrom().toEpochDay(), minDay) : minDay;
+            int toDay = query.getTo() != null ? (int) Math.min(query.getTo().toEpochDay(), maxDay) : maxDay;
+            if (fromDay > toDay) {
+                return new ArrayList<>();
+            }
+
+            Set<CubeDimension> groupBy = query.getGroupBy();
+            boolean byService = groupBy.contains(CubeDimension.SERVICE);
+            boolean byRegion = groupBy.contains(CubeDimension.REGION);
+            boolean byUsageType = groupBy.contains(CubeDimension.USAGE_TYPE);
+            boolean byDate = groupBy.contains(CubeDimension.DATE);
+            long regionRadix = regions.size();
+            long usageTypeRadix = usageTypes.size();
+            long dayRadix = toDay - fromDay + 1;
+            try {
+                // Fail fast if the mixed-radix group key cannot fit in a long
+                long keySpace = byService ? services.size() : 1;
+                keySpace = Math.multiplyExact(keySpace, byRegion ? regionRadix : 1);
+                keySpace = Math.multiplyExact(keySpace, byUsageType ? usageTypeRadix : 1);
+                Math.multiplyExact(keySpace, byDate ? dayRadix : 1);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Too many groups; narrow the date range or group by fewer dimensions");
+            }
+
+            LongDoubleHashMap totals = new LongDoubleHashMap(64);
+            for (int i = 0; i < size; i++) {
+                int day = days[i];
+                if (day < fromDay || day > toDay) {
+                    continue;
+                }
+                int serviceId = serviceIds[i];
+                int regionId = regionIds[i];
+                int usageTypeId = usageTypeIds[i];
+                if ((serviceFilter != null && !serviceFilter[serviceId])
+                        || (regionFilter != null && !regionFilter[regionId])
+                        || (usageTypeFilter != null && !usageTypeFilter[usageTypeId])) {
+                    continue;
+                }
+                long key = byService ? serviceId : 0;
+                if (byRegion) {
+                    key = key * regionRadix + regionId;
+                }
+                if (byUsageType) {
+                    key = key * usageTypeRadix + usageTypeId;
+                }
+                if (byDate) {
+                    key = key * dayRadix + (day - fromDay);
+                }
+                totals.addTo(key, costs[i]);
+            }
+
+            List<CostCubeRowDTO> rows = new ArrayList<>(totals.size());
+            int firstDay = fromDay;
+            totals.forEach((key, total) -> {
+                long remaining = key;
+                LocalDate date = null;
+                String usageType = null;
+                String region = null;
+                String serviceName = null;
+                if (byDate) {
+                    date = LocalDate.ofEpochDay(firstDay + remaining % dayRadix);
+                    remaining /= dayRadix;
+                }
+                if (byUsageType) {
+                    usageType = usageTypes.valueOf((int) (remaining % usageTypeRadix));
+                    remaining /= usageTypeRadix;
+                }
+                if (byRegion) {
+                    region = regions.valueOf((int) (remaining % regionRadix));
+                    remaining /= regionRadix;
+                }
+                if (byService) {
+                    serviceName = services.valueOf((int) remaining);
+                }
+                rows.add(new CostCubeRowDTO(serviceName, region, usageType, date, total));
+            });
+            rows.sort(Comparator.comparing(CostCubeRowDTO::getTotalCost).reversed());
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    public void setDataVersion(long version) {
+        dataVersion.set(version);
+    }
+
+    // Moves to next only if the cube is still at expected, i.e. nothing else changed in between
+    public boolean advanceDataVersion(long expected, long next) {
+        return dataVersion.compareAndSet(expected, next);
+    }
+
+    // null means "no filter"; unknown values simply match nothing
+    private static boolean[] filterMask(DimensionDictionary dictionary, Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        boolean[] mask = new boolean[dictionary.size()];
+        for (String value : values) {
+            int id = dictionary.lookup(value);
+            if (id >= 0) {
+                mask[id] = true;
+            }
+        }
+        return mask;
+    }
+
+    private void ensureCapacity() {
+        if (size == costs.length) {
+            int capacity = costs.length * 2;
+            serviceIds = Arrays.copyOf(serviceIds, capacity);
+            regionIds = Arrays.copyOf(regionIds, capacity);
+            usageTypeIds = Arrays.copyOf(usageTypeIds, capacity);
+            days = Arrays.copyOf(days, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+        }
+    }
+}
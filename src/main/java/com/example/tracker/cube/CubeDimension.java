@@ -0,0 +1,23 @@
+package com.example.tracker.cube;
+
+public enum CubeDimension {
+    SERVICE("service"),
+    REGION("region"),
+    USAGE_TYPE("usageType"),
+    DATE("date");
+
+    private final String paramName;
+
+    CubeDimension(String paramName) {
+        this.paramName = paramName;
+    }
+
+    public static CubeDimension parse(String value) {
+        for (CubeDimension dimension : values()) {
+            if (dimension.paramName.equalsIgnoreCase(value.trim())) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unknown dimension '" + value + "'; use service, region, usageType or date");
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.tracker.cube;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+
+// Group-by dimensions plus optional filters; null or empty filters match everything
+public class CubeQuery {
+
+    private final Set<CubeDimension> groupBy;
+    private final Collection<String> services;
+    private final Collection<String> regions;
+    private final Collection<String> usageTypes;
+    private final LocalDate from;
+    private final LocalDate to; // inclusive
+
+    public CubeQuery(Set<CubeDimension> groupBy, Collection<String> services, Collection<String> regions,
+                     Collection<String> usageTypes, LocalDate from, LocalDate to) {
+        this.groupBy = groupBy;
+        this.services = services;
+        this.regions = regions;
+        this.usageTypes = usageTypes;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Set<CubeDimension> getGroupBy() {
+        return groupBy;
+    }
+
+    public Collection<String> getServices() {
+        return services;
+    }
+
+    public Collection<String> getRegions() {
+        return regions;
+    }
+
+    public Collection<String> getUsageTypes() {
+        return usageTypes;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.tracker.cube;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Maps dimension values to dense int ids (0, 1, 2, ...) so the cube can store them in int arrays.
+// Not thread-safe; CostCube guards it with its lock.
+class DimensionDictionary {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int idOf(String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    // -1 when the value has never been seen
+    int lookup(String value) {
+        Integer id = ids.get(value);
+        return id != null ? id : -1;
+    }
+
+    String valueOf(int id) {
+        return values.get(id);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.tracker.cube;
+
+import java.util.Arrays;
+
+// Open-addressing long -> double accumulator used for group-by totals. Keys must be non-negative.
+class LongDoubleHashMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, double value);
+    }
+
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int size;
+
+    LongDoubleHashMap(int expectedSize) {
+        allocate(LongIntHashMap.capacityFor(expectedSize));
+    }
+
+    void addTo(long key, double amount) {
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int index = LongIntHashMap.hash(key) & mask;
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        if (keys[index] == EMPTY) {
+            keys[index] = key;
+            size++;
+        }
+        values[index] += amount;
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = LongIntHashMap.hash(oldKeys[i]) & mask;
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new double[capacity];
+        mask = capacity - 1;
+    }
+}
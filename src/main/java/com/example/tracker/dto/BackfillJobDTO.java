@@ -0,0 +1,76 @@
+package com.example.tracker.dto;
+
+import com.example.tracker.model.BackfillChunk;
+import com.example.tracker.model.BackfillJob;
+import com.example.tracker.model.BackfillStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+public class BackfillJobDTO {
+
+    private Long id;
+    private LocalDate from;
+    private LocalDate to; // inclusive
+    private String status;
+    private int totalChunks;
+    private int completedChunks;
+    private int failedChunks;
+    private long rowCount;
+    private Instant createdAt;
+    private Instant finishedAt;
+
+    //Constructors
+    public BackfillJobDTO() {}
+
+    public BackfillJobDTO(BackfillJob job, List<BackfillChunk> chunks) {
+        this.id = job.getId();
+        this.from = job.getStartDate();
+        this.to = job.getEndDate().minusDays(1);
+        this.status = job.getStatus().name();
+        this.totalChunks = chunks.size();
+        for (BackfillChunk chunk : chunks) {
+            if (chunk.getStatus() == BackfillStatus.COMPLETED) {
+                completedChunks++;
+            } else if (chunk.getStatus() == BackfillStatus.FAILED) {
+                failedChunks++;
+            }
+            rowCount += chunk.getRowCount();
+        }
+        this.createdAt = job.getCreatedAt();
+        this.finishedAt = job.getFinishedAt();
+    }
+
+    //Getters
+    public Long getId() {
+        return id;
+    }
+    public LocalDate getFrom() {
+        return from;
+    }
+    public LocalDate getTo() {
+        return to;
+    }
+    public String getStatus() {
+        return status;
+    }
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+    public int getCompletedChunks() {
+        return completedChunks;
+    }
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+    public long getRowCount() {
+        return rowCount;
+    }
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+}
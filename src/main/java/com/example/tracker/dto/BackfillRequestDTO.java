@@ -0,0 +1,25 @@
+package com.example.tracker.dto;
+
+import java.time.LocalDate;
+
+public class BackfillRequestDTO {
+    private LocalDate from;
+    private LocalDate to; // inclusive
+
+    // Getters and Setters
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+}
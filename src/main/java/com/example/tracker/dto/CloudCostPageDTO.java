@@ -0,0 +1,32 @@
+package com.example.tracker.dto;
+
+import java.util.List;
+
+public class CloudCostPageDTO {
+
+    private List<CloudCostResponseDTO> items;
+    private String nextCursor; // null on the last page
+
+    //Constructors
+    public CloudCostPageDTO(){}
+
+    public CloudCostPageDTO(List<CloudCostResponseDTO> items, String nextCursor){
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    //Getters and Setters
+    public List<CloudCostResponseDTO> getItems() {
+        return items;
+    }
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setItems(List<CloudCostResponseDTO> items) {
+        this.items = items;
+    }
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.tracker.dto;
+
+import java.time.LocalDate;
+
+// Constructor-expression projection of a cloud_costs row for the read paths: plain columns, no
+// managed entity, no User. Dimensions are still ids; DimensionCache turns a row into a response.
+public class CloudCostRow {
+
+    private final Long id;
+    private final Integer serviceId;
+    private final double cost;
+    private final Integer usageTypeId;
+    private final Integer regionId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Long userId;
+
+    //Constructors
+    public CloudCostRow(Long id, Integer serviceId, double cost, Integer usageTypeId, Integer regionId,
+                        LocalDate startDate, LocalDate endDate, Long userId) {
+        this.id = id;
+        this.serviceId = serviceId;
+        this.cost = cost;
+        this.usageTypeId = usageTypeId;
+        this.regionId = regionId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.userId = userId;
+    }
+
+    //Getters
+    public Long getId() {
+        return id;
+    }
+    public Integer getServiceId() {
+        return serviceId;
+    }
+    public double getCost() {
+        return cost;
+    }
+    public Integer getUsageTypeId() {
+        return usageTypeId;
+    }
+    public Integer getRegionId() {
+        return regionId;
+    }
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    public Long getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.tracker.dto;
+
+import java.time.LocalDate;
+
+public class CostCubeRowDTO {
+
+    // Dimensions that were not grouped by are left null
+    private String serviceName;
+    private String region;
+    private String usageType;
+    private LocalDate date;
+    private Double totalCost;
+
+    //Constructors
+    public CostCubeRowDTO(){}
+
+    public CostCubeRowDTO(String serviceName, String region, String usageType, LocalDate date, Double totalCost){
+        this.serviceName = serviceName;
+        this.region = region;
+        this.usageType = usageType;
+        this.date = date;
+        this.totalCost = totalCost;
+    }
+
+    //Getters and Setters
+    public String getServiceName() {
+        return serviceName;
+    }
+    public String getRegion() {
+        return region;
+    }
+    public String getUsageType() {
+        return usageType;
+    }
+    public LocalDate getDate() {
+        return date;
+    }
+    public Double getTotalCost() {
+        return totalCost;
+    }
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+    public void setRegion(String region) {
+        this.region = region;
+    }
+    public void setUsageType(String usageType) {
+        this.usageType = usageType;
+    }
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+    public void setTotalCost(Double totalCost) {
+        this.totalCost = totalCost;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.tracker.dto;
+
+import java.time.LocalDate;
+
+// Month-end projection for one service: actual spend so far plus the forecast for the rest of the month
+public class CostForecastDTO {
+
+    private String serviceName;
+    private LocalDate month;
+    private LocalDate fittedThrough;
+    private double actualToDate;
+    private double forecastRemaining;
+    private double projectedTotal;
+
+    //Constructors
+    public CostForecastDTO() {}
+
+    public CostForecastDTO(String serviceName, LocalDate month, LocalDate fittedThrough, double actualToDate, double forecastRemaining) {
+        this.serviceName = serviceName;
+        this.month = month;
+        this.fittedThrough = fittedThrough;
+        this.actualToDate = actualToDate;
+        this.forecastRemaining = forecastRemaining;
+        this.projectedTotal = actualToDate + forecastRemaining;
+    }
+
+    //Getters
+    public String getServiceName() {
+        return serviceName;
+    }
+    public LocalDate getMonth() {
+        return month;
+    }
+    public LocalDate getFittedThrough() {
+        return fittedThrough;
+    }
+    public double getActualToDate() {
+        return actualToDate;
+    }
+    public double getForecastRemaining() {
+        return forecastRemaining;
+    }
+    public double getProjectedTotal() {
+        return projectedTotal;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.tracker.dto;
+
+import java.time.LocalDate;
+
+public class CostTrendPointDTO {
+
+    private LocalDate period; // The day, or the first day of the month for monthly trends
+    private String serviceName;
+    private String region; // Only set for monthly trends
+    private Double totalCost;
+
+    //Constructors
+    public CostTrendPointDTO(){}
+
+    public CostTrendPointDTO(LocalDate period, String serviceName, String region, Double totalCost){
+        this.period = period;
+        this.serviceName = serviceName;
+        this.region = region;
+        this.totalCost = totalCost;
+    }
+
+    //Getters and Setters
+    public LocalDate getPeriod() {
+        return period;
+    }
+    public String getServiceName() {
+        return serviceName;
+    }
+    public String getRegion() {
+        return region;
+    }
+    public Double getTotalCost() {
+        return totalCost;
+    }
+
+    public void setPeriod(LocalDate period) {
+        this.period = period;
+    }
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+    public void setRegion(String region) {
+        this.region = region;
+    }
+    public void setTotalCost(Double totalCost) {
+        this.totalCost = totalCost;
+    }
+}
@@ -15,6 +15,16 @@ public class RecommendationResponseDTO {
     public RecommendationResponseDTO() {
     }
 
+    public RecommendationResponseDTO(Long id, String type, String description, Double potentialSavings,
+                                     LocalDate dateGenerated, Long userId) {
+        this.id = id;
+        this.type = type;
+        this.description = description;
+        this.potentialSavings = potentialSavings;
+        this.dateGenerated = dateGenerated;
+        this.userId = userId;
+    }
+
     public RecommendationResponseDTO(Recommendation recommendation) {
         this.id = recommendation.getId();
         this.type = recommendation.getType();
@@ -0,0 +1,8 @@
+package com.example.tracker.dto;
+
+// Interface projection for grouped cost totals; only the aggregated rows leave the database.
+// The service is a dim_services id, resolved to a name through DimensionCache.
+public interface ServiceCostTotal {
+    Integer getServiceId();
+    Double getTotalCost();
+}
@@ -0,0 +1,42 @@
+package com.example.tracker.dto;
+
+public class TokenResponseDTO {
+    private String accessToken;
+    private String tokenType;
+    private long expiresIn;
+
+    //Constructors
+    public TokenResponseDTO() {}
+
+    public TokenResponseDTO(String accessToken, String tokenType, long expiresIn) {
+        this.accessToken = accessToken;
+        this.tokenType = tokenType;
+        this.expiresIn = expiresIn;
+    }
+
+    // Getters and Setters
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    // Seconds until the token expires
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.tracker.forecast;
+
+import java.time.LocalDate;
+
+// Additive Holt-Winters (triple exponential smoothing) over a daily series with a weekly season
+public final class HoltWinters {
+
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+
+    public HoltWinters(double alpha, double beta, double gamma) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+    }
+
+    // values[i] is the spend on firstDay + i, with missing days already filled in as zero
+    public SeasonalForecast fit(LocalDate firstDay, double[] values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Cannot fit an empty series");
+        }
+        int season = SeasonalForecast.SEASON_LENGTH;
+        LocalDate lastDay = firstDay.plusDays(values.length - 1);
+        double[] seasonal = new double[season];
+
+        if (values.length < 2 * season) {
+            // Too short to separate season from trend: flat forecast at the mean
+            return new SeasonalForecast(lastDay, mean(values, 0, values.length), 0, seasonal);
+        }
+
+        // Initialise from the first two weeks
+        double firstWeek = mean(values, 0, season);
+        double secondWeek = mean(values, season, 2 * season);
+        double level = firstWeek;
+        double trend = (secondWeek - firstWeek) / season;
+        for (int i = 0; i < season; i++) {
+            seasonal[SeasonalForecast.dayOfWeekIndex(firstDay.plusDays(i))] = values[i] - firstWeek;
+        }
+
+        for (int i = season; i < values.length; i++) {
+            int s = SeasonalForecast.dayOfWeekIndex(firstDay.plusDays(i));
+            double previousLevel = level;
+            level = alpha * (values[i] - seasonal[s]) + (1 - alpha) * (level + trend);
+            trend = beta * (level - previousLevel) + (1 - beta) * trend;
+            seasonal[s] = gamma * (values[i] - level) + (1 - gamma) * seasonal[s];
+        }
+        return new SeasonalForecast(lastDay, level, trend, seasonal);
+    }
+
+    private static double mean(double[] values, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum / (to - from);
+    }
+}
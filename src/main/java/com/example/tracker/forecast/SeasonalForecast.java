@@ -0,0 +1,65 @@
+package com.example.tracker.forecast;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// A fitted additive Holt-Winters model with a weekly season: level and trend as of fittedThrough,
+// plus one seasonal offset per day of week (index 0 is Monday). Immutable, so cached instances
+// can be shared between request threads.
+public final class SeasonalForecast {
+
+    public static final int SEASON_LENGTH = 7;
+
+    private final LocalDate fittedThrough;
+    private final double level;
+    private final double trend;
+    private final double[] seasonal;
+
+    public SeasonalForecast(LocalDate fittedThrough, double level, double trend, double[] seasonal) {
+        if (seasonal.length != SEASON_LENGTH) {
+            throw new IllegalArgumentException("Expected " + SEASON_LENGTH + " seasonal offsets");
+        }
+        this.fittedThrough = fittedThrough;
+        this.level = level;
+        this.trend = trend;
+        this.seasonal = seasonal.clone();
+    }
+
+    // Expected spend on a day after fittedThrough; spend cannot go negative
+    public double forecast(LocalDate day) {
+        long horizon = ChronoUnit.DAYS.between(fittedThrough, day);
+        if (horizon < 1) {
+            throw new IllegalArgumentException("Can only forecast days after " + fittedThrough);
+        }
+        return Math.max(0, level + horizon * trend + seasonal[dayOfWeekIndex(day)]);
+    }
+
+    // Sum of the daily forecasts over [from, to]; at most a month of days, so constant time per series
+    public double forecastTotal(LocalDate from, LocalDate to) {
+        double total = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            total += forecast(day);
+        }
+        return total;
+    }
+
+    public LocalDate getFittedThrough() {
+        return fittedThrough;
+    }
+
+    public double getLevel() {
+        return level;
+    }
+
+    public double getTrend() {
+        return trend;
+    }
+
+    public double[] getSeasonal() {
+        return seasonal.clone();
+    }
+
+    static int dayOfWeekIndex(LocalDate day) {
+        return day.getDayOfWeek().getValue() - 1;
+    }
+}
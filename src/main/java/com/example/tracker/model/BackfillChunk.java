@@ -0,0 +1,98 @@
+package com.example.tracker.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+
+// One Cost Explorer-sized slice [startDate, endDate) of a BackfillJob. A COMPLETED chunk is the
+// checkpoint: a resumed job only runs the chunks that are not completed yet.
+@Entity
+@Table(name = "backfill_chunks", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_backfill_chunks_job_start", columnNames = {"job_id", "start_date"})
+})
+public class BackfillChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    // Exclusive
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BackfillStatus status;
+
+    private int attempts;
+
+    private int rowCount;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private Instant completedAt;
+
+    //Constructors
+    public BackfillChunk() {
+    }
+
+    public BackfillChunk(Long jobId, LocalDate startDate, LocalDate endDate) {
+        this.jobId = jobId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = BackfillStatus.PENDING;
+    }
+
+    //Getters
+    public Long getId() {
+        return id;
+    }
+    public Long getJobId() {
+        return jobId;
+    }
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    public BackfillStatus getStatus() {
+        return status;
+    }
+    public int getAttempts() {
+        return attempts;
+    }
+    public int getRowCount() {
+        return rowCount;
+    }
+    public String getLastError() {
+        return lastError;
+    }
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    //Setters
+    public void setStatus(BackfillStatus status) {
+        this.status = status;
+    }
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    public void setRowCount(int rowCount) {
+        this.rowCount = rowCount;
+    }
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.tracker.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+
+// A historical ingestion request for one user over [startDate, endDate), split into BackfillChunks
+@Entity
+@Table(name = "backfill_jobs", indexes = {
+        @Index(name = "idx_backfill_jobs_status", columnList = "status")
+})
+public class BackfillJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    // Exclusive
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BackfillStatus status;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant finishedAt;
+
+    //Constructors
+    public BackfillJob() {
+    }
+
+    public BackfillJob(Long userId, LocalDate startDate, LocalDate endDate) {
+        this.userId = userId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = BackfillStatus.PENDING;
+        this.createdAt = Instant.now();
+    }
+
+    //Getters
+    public Long getId() {
+        return id;
+    }
+    public Long getUserId() {
+        return userId;
+    }
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    public BackfillStatus getStatus() {
+        return status;
+    }
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    //Setters
+    public void setStatus(BackfillStatus status) {
+        this.status = status;
+    }
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
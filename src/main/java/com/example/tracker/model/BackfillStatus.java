@@ -0,0 +1,8 @@
+package com.example.tracker.model;
+
+public enum BackfillStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
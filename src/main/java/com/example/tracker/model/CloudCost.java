@@ -3,24 +3,46 @@ package com.example.tracker.model;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
+// Service, region and usage type are stored as ids into the dim_* tables. The names are transient:
+// they are resolved through DimensionCache when rows are loaded and encoded again before writes.
 @Entity
-@Table(name = "cloud_costs")
+@EntityListeners(CloudCostDimensionListener.class)
+@Table(name = "cloud_costs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_cloud_costs_natural_key",
+                columnNames = {"user_id", "service_id", "region_id", "usage_type_id", "start_date"})
+}, indexes = {
+        @Index(name = "idx_cloud_costs_user_start_date", columnList = "user_id, start_date"),
+        @Index(name = "idx_cloud_costs_user_service_start_date", columnList = "user_id, service_id, start_date"),
+        @Index(name = "idx_cloud_costs_user_region_start_date", columnList = "user_id, region_id, start_date"),
+        @Index(name = "idx_cloud_costs_user_usage_type_start_date", columnList = "user_id, usage_type_id, start_date")
+})
 public class CloudCost {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "serviceName")
-    private String serviceName;
+    @Column(name = "service_id")
+    private Integer serviceId;
     private double cost;
 
-    private String usageType;
-    private String region;
+    @Column(name = "usage_type_id")
+    private Integer usageTypeId;
+    @Column(name = "region_id")
+    private Integer regionId;
+    @Column(nullable = false)
     private LocalDate startDate;
     private LocalDate endDate;
 
-    @ManyToOne
+    @Transient
+    private String serviceName;
+    @Transient
+    private String usageType;
+    @Transient
+    private String region;
+
+    // Lazy: reads project user_id directly, and ownership checks only need the proxy's id
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -63,6 +85,15 @@ public class CloudCost {
     public User getUser() {
         return user;
     }
+    public Integer getServiceId() {
+        return serviceId;
+    }
+    public Integer getRegionId() {
+        return regionId;
+    }
+    public Integer getUsageTypeId() {
+        return usageTypeId;
+    }
 
     //Setters
     public void setId(Long id){
@@ -89,4 +120,13 @@ public class CloudCost {
     public void setUser(User user) {
         this.user = user;
     }
+    public void setServiceId(Integer serviceId) {
+        this.serviceId = serviceId;
+    }
+    public void setRegionId(Integer regionId) {
+        this.regionId = regionId;
+    }
+    public void setUsageTypeId(Integer usageTypeId) {
+        this.usageTypeId = usageTypeId;
+    }
 }
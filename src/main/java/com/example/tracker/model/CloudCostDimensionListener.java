@@ -0,0 +1,27 @@
+package com.example.tracker.model;
+
+import com.example.tracker.repository.DimensionCache;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.annotation.Autowired;
+
+// Keeps CloudCost's transient names and stored dimension ids in step. Hibernate creates this
+// listener through Spring's bean container, so the cache is injected like in any other bean.
+// Updates are not covered: a name-only change does not make the entity dirty, so callers
+// re-encode through DimensionCache before saving. Writers encode before their transaction opens
+// (CloudCostService), so the encode below finds every name in the cache and never creates a row.
+public class CloudCostDimensionListener {
+
+    @Autowired
+    private DimensionCache dimensionCache;
+
+    @PrePersist
+    public void encode(CloudCost cloudCost) {
+        dimensionCache.encode(cloudCost);
+    }
+
+    @PostLoad
+    public void decode(CloudCost cloudCost) {
+        dimensionCache.decode(cloudCost);
+    }
+}
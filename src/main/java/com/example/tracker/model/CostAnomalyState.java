@@ -0,0 +1,77 @@
+package com.example.tracker.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Detector state for one (user, service) daily spend series: an exponentially weighted mean and
+// variance plus the last day folded in. Constant size however long the history is.
+@Entity
+@Table(name = "cost_anomaly_states", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_cost_anomaly_states", columnNames = {"user_id", "service_id"})
+})
+public class CostAnomalyState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "service_id")
+    private Integer serviceId;
+
+    private LocalDate lastDate;
+
+    private double mean;
+
+    private double variance;
+
+    private int observations;
+
+    //Constructors
+    public CostAnomalyState() {
+    }
+
+    public CostAnomalyState(Long userId, Integer serviceId) {
+        this.userId = userId;
+        this.serviceId = serviceId;
+    }
+
+    //Getters
+    public Long getId() {
+        return id;
+    }
+    public Long getUserId() {
+        return userId;
+    }
+    public Integer getServiceId() {
+        return serviceId;
+    }
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+    public double getMean() {
+        return mean;
+    }
+    public double getVariance() {
+        return variance;
+    }
+    public int getObservations() {
+        return observations;
+    }
+
+    //Setters
+    public void setLastDate(LocalDate lastDate) {
+        this.lastDate = lastDate;
+    }
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+    public void setVariance(double variance) {
+        this.variance = variance;
+    }
+    public void setObservations(int observations) {
+        this.observations = observations;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.tracker.model;
+
+import jakarta.persistence.*;
+
+// Shared shape of the dimension tables: a small surrogate id for every distinct name.
+// Ids are handed out by DimensionCache and never change, so they are safe to cache forever.
+@MappedSuperclass
+public abstract class CostDimension {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    //Constructors
+    protected CostDimension() {
+    }
+
+    //Getters
+    public Integer getId() {
+        return id;
+    }
+    public abstract String getName();
+}
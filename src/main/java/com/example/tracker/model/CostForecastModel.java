@@ -0,0 +1,99 @@
+package com.example.tracker.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Persisted Holt-Winters parameters for one (user, service) series, refitted after every ingestion.
+// monthToDateCost is the actual spend in forecastMonth up to fittedThrough, stored with the fit so a
+// month-end projection needs no cost query.
+@Entity
+@Table(name = "cost_forecast_models", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_cost_forecast_models", columnNames = {"user_id", "service_id"})
+})
+public class CostForecastModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "service_id")
+    private Integer serviceId;
+
+    @Column(nullable = false)
+    private LocalDate fittedThrough;
+
+    private double level;
+
+    private double trend;
+
+    // Seven comma-separated offsets, Monday first
+    @Column(nullable = false, length = 255)
+    private String seasonal;
+
+    // First day of the month that contains fittedThrough + 1
+    @Column(nullable = false)
+    private LocalDate forecastMonth;
+
+    private double monthToDateCost;
+
+    //Constructors
+    public CostForecastModel() {
+    }
+
+    public CostForecastModel(Long userId, Integer serviceId) {
+        this.userId = userId;
+        this.serviceId = serviceId;
+    }
+
+    //Getters
+    public Long getId() {
+        return id;
+    }
+    public Long getUserId() {
+        return userId;
+    }
+    public Integer getServiceId() {
+        return serviceId;
+    }
+    public LocalDate getFittedThrough() {
+        return fittedThrough;
+    }
+    public double getLevel() {
+        return level;
+    }
+    public double getTrend() {
+        return trend;
+    }
+    public String getSeasonal() {
+        return seasonal;
+    }
+    public LocalDate getForecastMonth() {
+        return forecastMonth;
+    }
+    public double getMonthToDateCost() {
+        return monthToDateCost;
+    }
+
+    //Setters
+    public void setFittedThrough(LocalDate fittedThrough) {
+        this.fittedThrough = fittedThrough;
+    }
+    public void setLevel(double level) {
+        this.level = level;
+    }
+    public void setTrend(double trend) {
+        this.trend = trend;
+    }
+    public void setSeasonal(String seasonal) {
+        this.seasonal = seasonal;
+    }
+    public void setForecastMonth(LocalDate forecastMonth) {
+        this.forecastMonth = forecastMonth;
+    }
+    public void setMonthToDateCost(double monthToDateCost) {
+        this.monthToDateCost = monthToDateCost;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.tracker.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Rollup of cloud_costs at (user, day, service) grain, rebuilt for the affected days on every write
+@Entity
+@Table(name = "daily_service_costs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_service_costs", columnNames = {"user_id", "usage_date", "service_id"})
+})
+public class DailyServiceCost {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate usageDate;
+
+    @Column(name = "service_id")
+    private Integer serviceId;
+
+    private double totalCost;
+
+    //Constructors
+    public DailyServiceCost() {
+    }
+
+    //Getters
+    public Long getId() {
+        return id;
+    }
+    public Long getUserId() {
+        return userId;
+    }
+    public LocalDate getUsageDate() {
+        return usageDate;
+    }
+    public Integer getServiceId() {
+        return serviceId;
+    }
+    public double getTotalCost() {
+        return totalCost;
+    }
+}
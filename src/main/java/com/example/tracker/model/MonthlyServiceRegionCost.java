@@ -0,0 +1,54 @@
+package com.example.tracker.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Rollup of cloud_costs at (user, month, service, region) grain; usageMonth is the first day of the month
+@Entity
+@Table(name = "monthly_service_region_costs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_monthly_service_region_costs", columnNames = {"user_id", "usage_month", "service_id", "region_id"})
+})
+public class MonthlyServiceRegionCost {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDate usageMonth;
+
+    @Column(name = "service_id")
+    private Integer serviceId;
+
+    @Column(name = "region_id")
+    private Integer regionId;
+
+    private double totalCost;
+
+    //Constructors
+    public MonthlyServiceRegionCost() {
+    }
+
+    //Getters
+    public Long getId() {
+        return id;
+    }
+    public Long getUserId() {
+        return userId;
+    }
+    public LocalDate getUsageMonth() {
+        return usageMonth;
+    }
+    public Integer getServiceId() {
+        return serviceId;
+    }
+    public Integer getRegionId() {
+        return regionId;
+    }
+    public double getTotalCost() {
+        return totalCost;
+    }
+}
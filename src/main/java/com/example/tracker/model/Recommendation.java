@@ -12,7 +12,8 @@ public class Recommendation {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    // Lazy: the read path projects user_id directly and never needs the User row
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -38,6 +39,10 @@ public class Recommendation {
         this.dateGenerated = dateGenerated;
     }
 
+    public Recommendation(User user, RecommendationType type, String description, Double potentialSavings, LocalDate dateGenerated) {
+        this(user, type.getLabel(), description, potentialSavings, dateGenerated);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,18 @@
+package com.example.tracker.model;
+
+// Kinds of recommendation the application generates. Recommendation.type stores the label, so
+// rows written before this enum existed read back unchanged.
+public enum RecommendationType {
+    HIGH_COST_ALERT("High Cost Alert"),
+    COST_ANOMALY("Cost Anomaly");
+
+    private final String label;
+
+    RecommendationType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
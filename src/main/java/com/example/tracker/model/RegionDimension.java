@@ -0,0 +1,23 @@
+package com.example.tracker.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "dim_regions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_dim_regions_name", columnNames = {"name"})
+})
+public class RegionDimension extends CostDimension {
+
+    @Column(nullable = false, length = 64)
+    private String name;
+
+    //Constructors
+    public RegionDimension() {
+    }
+
+    //Getters
+    @Override
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.tracker.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "dim_services", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_dim_services_name", columnNames = {"name"})
+})
+public class ServiceDimension extends CostDimension {
+
+    @Column(nullable = false, length = 128)
+    private String name;
+
+    //Constructors
+    public ServiceDimension() {
+    }
+
+    //Getters
+    @Override
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.tracker.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "dim_usage_types", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_dim_usage_types_name", columnNames = {"name"})
+})
+public class UsageTypeDimension extends CostDimension {
+
+    @Column(nullable = false, length = 255)
+    private String name;
+
+    //Constructors
+    public UsageTypeDimension() {
+    }
+
+    //Getters
+    @Override
+    public String getName() {
+        return name;
+    }
+}
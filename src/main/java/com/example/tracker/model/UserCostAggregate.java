@@ -0,0 +1,59 @@
+package com.example.tracker.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+// Running per-user cost total kept by the recommendation job. totalCost covers exactly the days up
+// to and including processedThrough; each run folds in only the days after it. Writes that touch
+// days at or before the watermark rewind it (see UserCostAggregateRepository.rewind).
+@Entity
+@Table(name = "user_cost_aggregates")
+public class UserCostAggregate {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    private double totalCost;
+
+    // Inclusive; null until the first run
+    private LocalDate processedThrough;
+
+    private boolean highCostAlertRaised;
+
+    @Version
+    private Long version;
+
+    //Constructors
+    public UserCostAggregate() {
+    }
+
+    public UserCostAggregate(Long userId) {
+        this.userId = userId;
+    }
+
+    //Getters
+    public Long getUserId() {
+        return userId;
+    }
+    public double getTotalCost() {
+        return totalCost;
+    }
+    public LocalDate getProcessedThrough() {
+        return processedThrough;
+    }
+    public boolean isHighCostAlertRaised() {
+        return highCostAlertRaised;
+    }
+
+    //Setters
+    public void setTotalCost(double totalCost) {
+        this.totalCost = totalCost;
+    }
+    public void setProcessedThrough(LocalDate processedThrough) {
+        this.processedThrough = processedThrough;
+    }
+    public void setHighCostAlertRaised(boolean highCostAlertRaised) {
+        this.highCostAlertRaised = highCostAlertRaised;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.tracker.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Token bucket whose refill rate adapts to the server: every throttling response halves the rate
+// (down to minRate) and every success adds a small step back (up to maxRate), like TCP's AIMD.
+// acquire() reserves a token and sleeps outside the lock, so waiting virtual threads don't pin
+// carriers and callers are released in arrival order.
+public class AdaptiveRateLimiter {
+
+    private final String name;
+    private final double minRate;
+    private final double maxRate;
+    private final double increasePerSuccess;
+    private final double burst;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // All guarded by lock; tokens goes negative while callers hold reservations
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public AdaptiveRateLimiter(String name, double initialRate, double minRate, double maxRate, double increasePerSuccess, double burst) {
+        this(name, initialRate, minRate, maxRate, increasePerSuccess, burst, System::nanoTime);
+    }
+
+    // The clock is swappable so tests can move time by hand
+    AdaptiveRateLimiter(String name, double initialRate, double minRate, double maxRate, double increasePerSuccess, double burst,
+                        LongSupplier nanoClock) {
+        if (minRate <= 0 || initialRate < minRate || maxRate < initialRate || burst < 1) {
+            throw new IllegalArgumentException("Invalid rate limiter settings for " + name);
+        }
+        this.name = name;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increasePerSuccess = increasePerSuccess;
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.rate = initialRate;
+        this.tokens = burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    // Blocks until the caller may make one request
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    // Takes a token and returns how long the caller has to wait before it may use it
+    long reserve() {
+        lock.lock();
+        try {
+            refill();
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) (-tokens / rate * 1_000_000_000L);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            refill();
+            rate = Math.min(maxRate, rate + increasePerSuccess);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onThrottle() {
+        lock.lock();
+        try {
+            refill();
+            rate = Math.max(minRate, rate / 2);
+            // Drop any saved-up burst so the lower rate takes effect immediately
+            tokens = Math.min(tokens, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getRate() {
+        lock.lock();
+        try {
+            return rate;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getAvailableTokens() {
+        lock.lock();
+        try {
+            refill();
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * rate);
+        lastRefillNanos = now;
+    }
+}
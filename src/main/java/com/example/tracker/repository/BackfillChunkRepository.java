@@ -0,0 +1,12 @@
+package com.example.tracker.repository;
+
+import com.example.tracker.model.BackfillChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BackfillChunkRepository extends JpaRepository<BackfillChunk, Long> {
+    List<BackfillChunk> findByJobIdOrderByStartDate(Long jobId);
+}
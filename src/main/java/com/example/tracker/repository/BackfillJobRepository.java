@@ -0,0 +1,14 @@
+package com.example.tracker.repository;
+
+import com.example.tracker.model.BackfillJob;
+import com.example.tracker.model.BackfillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BackfillJobRepository extends JpaRepository<BackfillJob, Long> {
+    List<BackfillJob> findByStatusIn(Collection<BackfillStatus> statuses);
+}
@@ -1,13 +1,48 @@
 package com.example.tracker.repository;
 
+import com.example.tracker.dto.CloudCostRow;
 import com.example.tracker.model.CloudCost;
 import com.example.tracker.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface CloudCostRepository extends JpaRepository<CloudCost, Long> {
+public interface CloudCostRepository extends JpaRepository<CloudCost, Long>, CloudCostRepositoryCustom {
     List<CloudCost> findByUser(User user);
+
+    // Forward-only scan of the daily rows for exports; the MIN_VALUE fetch size makes MySQL Connector/J
+    // stream rows instead of buffering the whole result set. Must be consumed inside a transaction, and
+    // the connection runs no other statement until the stream is closed. Compacted months come from
+    // streamCompactedRows.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648")
+    })
+    @Query("select new com.example.tracker.dto.CloudCostRow(c.id, c.serviceId, c.cost, c.usageTypeId, c.regionId, "
+            + "c.startDate, c.endDate, c.user.id) from CloudCost c "
+            + "where c.user.id = :userId "
+            + "and (:startDate is null or c.startDate >= :startDate) "
+            + "and (:endDate is null or c.startDate <= :endDate) "
+            + "order by c.startDate, c.id")
+    Stream<CloudCostRow> streamForExport(@Param("userId") Long userId,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    // Only the columns the in-memory cube needs, streamed without hydrating entities; dimensions stay ids.
+    // Daily rows only, like streamForExport.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c.serviceId, c.regionId, c.usageTypeId, c.startDate, c.cost from CloudCost c "
+            + "where c.user.id = :userId and c.startDate is not null")
+    Stream<Object[]> streamCubeRows(@Param("userId") Long userId);
 }
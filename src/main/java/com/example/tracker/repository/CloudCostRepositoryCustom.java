@@ -0,0 +1,25 @@
+package com.example.tracker.repository;
+
+import com.example.tracker.dto.CloudCostRow;
+import com.example.tracker.model.CloudCost;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface CloudCostRepositoryCustom {
+    // Inserts or overwrites rows by natural key (user, service, region, usage type, start date);
+    // dimension ids are resolved from the names first
+    int upsertAll(List<CloudCost> cloudCosts);
+
+    // Keyset page ordered by (startDate, id) descending over the daily rows and the compacted months
+    // in cloud_costs_monthly. Null filters are ignored; endDate is inclusive and a compacted month
+    // matches the date range by its first day.
+    List<CloudCostRow> findPage(Long userId, LocalDate startDate, LocalDate endDate,
+                                Integer serviceId, Integer regionId, Integer usageTypeId,
+                                LocalDate cursorDate, Long cursorId, int limit);
+
+    // The compacted months of a user in month order, as rows shaped like findPage's. The stream holds
+    // a connection until it is closed.
+    Stream<CloudCostRow> streamCompactedRows(Long userId, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,142 @@
+package com.example.tracker.repository;
+
+import com.example.tracker.dto.CloudCostRow;
+import com.example.tracker.model.CloudCost;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class CloudCostRepositoryImpl implements CloudCostRepositoryCustom {
+
+    // Relies on the uk_cloud_costs_natural_key unique key (see db/005_cost_dimensions.sql)
+    private static final String UPSERT_SQL =
+            "INSERT INTO cloud_costs (service_id, cost, usage_type_id, region_id, start_date, end_date, user_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE cost = VALUES(cost), end_date = VALUES(end_date)";
+
+    private static final String DAILY_COLUMNS =
+            "id, service_id, cost, usage_type_id, region_id, start_date, end_date, user_id";
+
+    // A compacted month reads as one row from its first day to the first of the next month. Its id is
+    // the negated cloud_costs_monthly id, so it never collides with a daily row in the keyset order
+    // and updating or deleting it by id finds nothing.
+    private static final String MONTHLY_COLUMNS =
+            "-id AS id, service_id, cost, usage_type_id, region_id, usage_month AS start_date, "
+                    + "DATE_ADD(usage_month, INTERVAL 1 MONTH) AS end_date, user_id";
+
+    private static final RowMapper<CloudCostRow> ROW_MAPPER = (rs, rowNum) -> new CloudCostRow(
+            rs.getLong("id"), rs.getObject("service_id", Integer.class), rs.getDouble("cost"),
+            rs.getObject("usage_type_id", Integer.class), rs.getObject("region_id", Integer.class),
+            rs.getObject("start_date", LocalDate.class), rs.getObject("end_date", LocalDate.class),
+            rs.getLong("user_id"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DimensionCache dimensionCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${ingestion.upsert-batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public int upsertAll(List<CloudCost> cloudCosts) {
+        if (cloudCosts.isEmpty()) {
+            return 0;
+        }
+        // New dimension rows are committed first, so a rolled-back batch cannot leave cached ids behind
+        dimensionCache.encodeAll(cloudCosts);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status ->
+                // Plain JDBC batches: IDENTITY ids would make Hibernate insert row by row
+                jdbcTemplate.batchUpdate(UPSERT_SQL, cloudCosts, batchSize, (ps, cost) -> {
+                    ps.setObject(1, cost.getServiceId(), Types.INTEGER);
+                    ps.setDouble(2, cost.getCost());
+                    ps.setObject(3, cost.getUsageTypeId(), Types.INTEGER);
+                    ps.setObject(4, cost.getRegionId(), Types.INTEGER);
+                    ps.setObject(5, cost.getStartDate());
+                    ps.setObject(6, cost.getEndDate());
+                    ps.setLong(7, cost.getUser().getId());
+                }));
+        return cloudCosts.size();
+    }
+
+    @Override
+    public List<CloudCostRow> findPage(Long userId, LocalDate startDate, LocalDate endDate,
+                                       Integer serviceId, Integer regionId, Integer usageTypeId,
+                                       LocalDate cursorDate, Long cursorId, int limit) {
+        // Each branch is limited on its own, so both walk their (user, date) index instead of the
+        // union being materialized and sorted in full
+        List<Object> args = new ArrayList<>();
+        String daily = "SELECT " + DAILY_COLUMNS + " FROM cloud_costs WHERE "
+                + pageFilter("id", "start_date", userId, startDate, endDate, serviceId, regionId, usageTypeId,
+                cursorDate, cursorId, args)
+                + " ORDER BY start_date DESC, id DESC LIMIT ?";
+        args.add(limit);
+        String monthly = "SELECT " + MONTHLY_COLUMNS + " FROM cloud_costs_monthly WHERE "
+                + pageFilter("-id", "usage_month", userId, startDate, endDate, serviceId, regionId, usageTypeId,
+                cursorDate, cursorId, args)
+                + " ORDER BY usage_month DESC, id ASC LIMIT ?";
+        args.add(limit);
+        args.add(limit);
+        return jdbcTemplate.query("(" + daily + ") UNION ALL (" + monthly + ") ORDER BY start_date DESC, id DESC LIMIT ?",
+                ROW_MAPPER, args.toArray());
+    }
+
+    @Override
+    public Stream<CloudCostRow> streamCompactedRows(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<Object> args = new ArrayList<>();
+        String filter = pageFilter("-id", "usage_month", userId, startDate, endDate, null, null, null, null, null, args);
+        return jdbcTemplate.queryForStream("SELECT " + MONTHLY_COLUMNS + " FROM cloud_costs_monthly WHERE " + filter
+                + " ORDER BY usage_month, id", ROW_MAPPER, args.toArray());
+    }
+
+    // Builds the WHERE clause for one source table, adding the bind values to args in order; null
+    // filters are left out rather than bound as "? IS NULL"
+    private static String pageFilter(String idColumn, String dateColumn, Long userId, LocalDate startDate, LocalDate endDate,
+                                     Integer serviceId, Integer regionId, Integer usageTypeId,
+                                     LocalDate cursorDate, Long cursorId, List<Object> args) {
+        StringBuilder filter = new StringBuilder("user_id = ?");
+        args.add(userId);
+        if (startDate != null) {
+            filter.append(" AND ").append(dateColumn).append(" >= ?");
+            args.add(startDate);
+        }
+        if (endDate != null) {
+            filter.append(" AND ").append(dateColumn).append(" <= ?");
+            args.add(endDate);
+        }
+        if (serviceId != null) {
+            filter.append(" AND service_id = ?");
+            args.add(serviceId);
+        }
+        if (regionId != null) {
+            filter.append(" AND region_id = ?");
+            args.add(regionId);
+        }
+        if (usageTypeId != null) {
+            filter.append(" AND usage_type_id = ?");
+            args.add(usageTypeId);
+        }
+        if (cursorDate != null) {
+            filter.append(" AND (").append(dateColumn).append(" < ? OR (").append(dateColumn).append(" = ? AND ")
+                    .append(idColumn).append(" < ?))");
+            args.add(cursorDate);
+            args.add(cursorDate);
+            args.add(cursorId);
+        }
+        return filter.toString();
+    }
+}
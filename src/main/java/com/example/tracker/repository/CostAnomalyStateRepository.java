@@ -0,0 +1,12 @@
+package com.example.tracker.repository;
+
+import com.example.tracker.model.CostAnomalyState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CostAnomalyStateRepository extends JpaRepository<CostAnomalyState, Long> {
+    List<CostAnomalyState> findByUserId(Long userId);
+}
@@ -0,0 +1,12 @@
+package com.example.tracker.repository;
+
+import com.example.tracker.model.CostForecastModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CostForecastModelRepository extends JpaRepository<CostForecastModel, Long> {
+    List<CostForecastModel> findByUserId(Long userId);
+}
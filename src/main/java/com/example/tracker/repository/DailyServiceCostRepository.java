@@ -0,0 +1,57 @@
+package com.example.tracker.repository;
+
+import com.example.tracker.dto.ServiceCostTotal;
+import com.example.tracker.model.DailyServiceCost;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyServiceCostRepository extends JpaRepository<DailyServiceCost, Long> {
+
+    // Null bounds are ignored; endDate is inclusive
+    @Query("select d.serviceId as serviceId, sum(d.totalCost) as totalCost from DailyServiceCost d "
+            + "where d.userId = :userId "
+            + "and (:startDate is null or d.usageDate >= :startDate) "
+            + "and (:endDate is null or d.usageDate <= :endDate) "
+            + "group by d.serviceId")
+    List<ServiceCostTotal> sumCostByService(@Param("userId") Long userId,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    // Total over an inclusive day range; a null startDate means from the beginning
+    @Query("select coalesce(sum(d.totalCost), 0) from DailyServiceCost d "
+            + "where d.userId = :userId "
+            + "and (:startDate is null or d.usageDate >= :startDate) "
+            + "and d.usageDate <= :endDate")
+    double sumCost(@Param("userId") Long userId,
+                   @Param("startDate") LocalDate startDate,
+                   @Param("endDate") LocalDate endDate);
+
+    @Query("select d from DailyServiceCost d "
+            + "where d.userId = :userId "
+            + "and (:startDate is null or d.usageDate >= :startDate) "
+            + "and (:endDate is null or d.usageDate <= :endDate) "
+            + "order by d.usageDate, d.serviceId")
+    List<DailyServiceCost> findTrend(@Param("userId") Long userId,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    // The rebuild pair below works on a half-open [startDate, endDate) range
+    @Modifying
+    @Query(value = "DELETE FROM daily_service_costs "
+            + "WHERE user_id = :userId AND usage_date >= :startDate AND usage_date < :endDate", nativeQuery = true)
+    int deleteRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_service_costs (user_id, usage_date, service_id, total_cost) "
+            + "SELECT user_id, start_date, service_id, SUM(cost) FROM cloud_costs "
+            + "WHERE user_id = :userId AND start_date >= :startDate AND start_date < :endDate "
+            + "GROUP BY user_id, start_date, service_id", nativeQuery = true)
+    int rebuildRange(@Param("userId") Long userId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,176 @@
+package com.example.tracker.repository;
+
+import com.example.tracker.dto.CloudCostResponseDTO;
+import com.example.tracker.dto.CloudCostRow;
+import com.example.tracker.model.CloudCost;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-process copy of the dim_* tables. Each table is read in full on first use; after that,
+// encoding a row is a map lookup and only a never-seen name costs a round trip (an insert that
+// leaves an existing row alone, then SELECT, so concurrent writers on any node agree on the id).
+// That round trip runs in its own transaction, so an id is only cached once its row is committed.
+// Inside a caller's transaction that would hold a second pooled connection, so writers encode
+// before they open one (CloudCostService, CloudCostRepositoryImpl.upsertAll) and the JPA
+// listener's encode is then a cache hit. Ids are never reassigned, so entries never go stale.
+@Component
+public class DimensionCache {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Lengths match the name columns in db/005_cost_dimensions.sql
+    private final Dimension services = new Dimension("dim_services", "Service name", 128);
+    private final Dimension regions = new Dimension("dim_regions", "Region", 64);
+    private final Dimension usageTypes = new Dimension("dim_usage_types", "Usage type", 255);
+
+    // Fills in the dimension ids from the names, creating dimension rows for new names.
+    // Throws IllegalArgumentException for a name longer than its column.
+    public void encode(CloudCost cloudCost) {
+        cloudCost.setServiceId(services.idOf(cloudCost.getServiceName()));
+        cloudCost.setRegionId(regions.idOf(cloudCost.getRegion()));
+        cloudCost.setUsageTypeId(usageTypes.idOf(cloudCost.getUsageType()));
+    }
+
+    public void encodeAll(List<CloudCost> cloudCosts) {
+        for (CloudCost cloudCost : cloudCosts) {
+            encode(cloudCost);
+        }
+    }
+
+    // Fills in the names from the dimension ids
+    public void decode(CloudCost cloudCost) {
+        cloudCost.setServiceName(services.nameOf(cloudCost.getServiceId()));
+        cloudCost.setRegion(regions.nameOf(cloudCost.getRegionId()));
+        cloudCost.setUsageType(usageTypes.nameOf(cloudCost.getUsageTypeId()));
+    }
+
+    // Builds the API response for a projected row
+    public CloudCostResponseDTO toResponse(CloudCostRow row) {
+        return new CloudCostResponseDTO(row.getId(), services.nameOf(row.getServiceId()), row.getCost(),
+                usageTypes.nameOf(row.getUsageTypeId()), regions.nameOf(row.getRegionId()),
+                row.getStartDate(), row.getEndDate(), row.getUserId());
+    }
+
+    public String serviceName(Integer id) {
+        return services.nameOf(id);
+    }
+
+    public String regionName(Integer id) {
+        return regions.nameOf(id);
+    }
+
+    public String usageTypeName(Integer id) {
+        return usageTypes.nameOf(id);
+    }
+
+    // Lookups for read filters never create rows; null means no row can match the name
+    public Integer findServiceId(String name) {
+        return services.find(name);
+    }
+
+    public Integer findRegionId(String name) {
+        return regions.find(name);
+    }
+
+    public Integer findUsageTypeId(String name) {
+        return usageTypes.find(name);
+    }
+
+    // Suspends any transaction of the caller and runs on a connection of its own
+    private <T> T inNewTransaction(TransactionCallback<T> callback) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate.execute(callback);
+    }
+
+    private final class Dimension {
+        private final String table;
+        private final String label;
+        private final int maxLength;
+        private final ConcurrentHashMap<String, Integer> idsByName = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Integer, String> namesById = new ConcurrentHashMap<>();
+        private volatile boolean loaded;
+
+        private Dimension(String table, String label, int maxLength) {
+            this.table = table;
+            this.label = label;
+            this.maxLength = maxLength;
+        }
+
+        private Integer idOf(String name) {
+            if (name == null) {
+                return null;
+            }
+            Integer id = find(name);
+            if (id != null) {
+                return id;
+            }
+            // Checked here because the database would truncate or reject it, and then the SELECT finds nothing
+            if (name.codePointCount(0, name.length()) > maxLength) {
+                throw new IllegalArgumentException(label + " is longer than " + maxLength + " characters");
+            }
+            id = inNewTransaction(status -> {
+                // Only a duplicate name is tolerated, unlike INSERT IGNORE which also swallows data errors
+                jdbcTemplate.update("INSERT INTO " + table + " (name) VALUES (?) ON DUPLICATE KEY UPDATE id = id", name);
+                return jdbcTemplate.queryForObject("SELECT id FROM " + table + " WHERE name = ?", Integer.class, name);
+            });
+            remember(id, name);
+            return id;
+        }
+
+        private Integer find(String name) {
+            if (name == null) {
+                return null;
+            }
+            ensureLoaded();
+            return idsByName.get(name);
+        }
+
+        private String nameOf(Integer id) {
+            if (id == null) {
+                return null;
+            }
+            ensureLoaded();
+            String name = namesById.get(id);
+            if (name == null) {
+                // Created by another node since we loaded. Read on a connection of its own: exports and
+                // cube loads decode while a streaming result set still occupies the caller's connection.
+                // Only such a miss takes a second connection, and it is a short read.
+                name = inNewTransaction(status ->
+                        jdbcTemplate.queryForObject("SELECT name FROM " + table + " WHERE id = ?", String.class, id));
+                remember(id, name);
+            }
+            return name;
+        }
+
+        private void remember(Integer id, String name) {
+            idsByName.putIfAbsent(name, id);
+            namesById.putIfAbsent(id, name);
+        }
+
+        private void ensureLoaded() {
+            if (!loaded) {
+                synchronized (this) {
+                    if (!loaded) {
+                        jdbcTemplate.query("SELECT id, name FROM " + table,
+                                (RowCallbackHandler) rs -> remember(rs.getInt(1), rs.getString(2)));
+                        loaded = true;
+                    }
+                }
+            }
+        }
+    }
+}
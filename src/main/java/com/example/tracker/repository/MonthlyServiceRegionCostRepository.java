@@ -0,0 +1,46 @@
+package com.example.tracker.repository;
+
+import com.example.tracker.model.MonthlyServiceRegionCost;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MonthlyServiceRegionCostRepository extends JpaRepository<MonthlyServiceRegionCost, Long> {
+
+    // Null bounds are ignored; both bounds are month starts and endMonth is inclusive
+    @Query("select m from MonthlyServiceRegionCost m "
+            + "where m.userId = :userId "
+            + "and (:startMonth is null or m.usageMonth >= :startMonth) "
+            + "and (:endMonth is null or m.usageMonth <= :endMonth) "
+            + "order by m.usageMonth, m.serviceId, m.regionId")
+    List<MonthlyServiceRegionCost> findTrend(@Param("userId") Long userId,
+                                             @Param("startMonth") LocalDate startMonth,
+                                             @Param("endMonth") LocalDate endMonth);
+
+    // The rebuild pair below works on a half-open [startMonth, endMonth) range of month starts.
+    // Months whose daily rows were compacted (CostPartitionService) are read from cloud_costs_monthly.
+    @Modifying
+    @Query(value = "DELETE FROM monthly_service_region_costs "
+            + "WHERE user_id = :userId AND usage_month >= :startMonth AND usage_month < :endMonth", nativeQuery = true)
+    int deleteRange(@Param("userId") Long userId, @Param("startMonth") LocalDate startMonth, @Param("endMonth") LocalDate endMonth);
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_service_region_costs (user_id, usage_month, service_id, region_id, total_cost) "
+            + "SELECT user_id, usage_month, service_id, region_id, SUM(cost) FROM ("
+            + "SELECT user_id, DATE_SUB(start_date, INTERVAL DAYOFMONTH(start_date) - 1 DAY) AS usage_month, service_id, region_id, cost "
+            + "FROM cloud_costs "
+            + "WHERE user_id = :userId AND start_date >= :startMonth AND start_date < :endMonth "
+            + "UNION ALL "
+            + "SELECT user_id, usage_month, service_id, region_id, cost "
+            + "FROM cloud_costs_monthly "
+            + "WHERE user_id = :userId AND usage_month >= :startMonth AND usage_month < :endMonth"
+            + ") costs "
+            + "GROUP BY user_id, usage_month, service_id, region_id", nativeQuery = true)
+    int rebuildRange(@Param("userId") Long userId, @Param("startMonth") LocalDate startMonth, @Param("endMonth") LocalDate endMonth);
+}
@@ -1,8 +1,11 @@
 package com.example.tracker.repository;
 
+import com.example.tracker.dto.RecommendationResponseDTO;
 import com.example.tracker.model.Recommendation;
 import com.example.tracker.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +13,11 @@ import java.util.List;
 @Repository
 public interface RecommendationRepository extends JpaRepository<Recommendation, Long> {
     List<Recommendation> findByUser(User user);
+
+    List<Recommendation> findByUserId(Long userId);
+
+    // Read path for the API: the response columns only, no managed entities and no User
+    @Query("select new com.example.tracker.dto.RecommendationResponseDTO(r.id, r.type, r.description, "
+            + "r.potentialSavings, r.dateGenerated, r.user.id) from Recommendation r where r.user.id = :userId")
+    List<RecommendationResponseDTO> findResponsesByUserId(@Param("userId") Long userId);
 }
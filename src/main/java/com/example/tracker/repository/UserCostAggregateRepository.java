@@ -0,0 +1,27 @@
+package com.example.tracker.repository;
+
+import com.example.tracker.model.UserCostAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface UserCostAggregateRepository extends JpaRepository<UserCostAggregate, Long> {
+
+    // Moves the watermark back to the day before startDate and takes the days from startDate onward
+    // back out of the total, so the next run folds them in again. Must run before the daily rollup
+    // for those days is rebuilt, while it still holds the values that were folded in.
+    // MySQL applies SET assignments left to right, so total_cost sees the old processed_through.
+    @Modifying
+    @Query(value = "UPDATE user_cost_aggregates a SET "
+            + "total_cost = total_cost - (SELECT COALESCE(SUM(d.total_cost), 0) FROM daily_service_costs d "
+            + "WHERE d.user_id = a.user_id AND d.usage_date >= :startDate AND d.usage_date <= a.processed_through), "
+            + "processed_through = DATE_SUB(:startDate, INTERVAL 1 DAY), "
+            + "version = version + 1 "
+            + "WHERE a.user_id = :userId AND a.processed_through >= :startDate", nativeQuery = true)
+    int rewind(@Param("userId") Long userId, @Param("startDate") LocalDate startDate);
+}
@@ -2,11 +2,18 @@ package com.example.tracker.repository;
 
 import com.example.tracker.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    // Tenants are split into scheduling shards by id (see JobLeaseCoordinator)
+    @Query("SELECT u FROM User u WHERE MOD(u.id, :shardCount) = :shard")
+    List<User> findByShard(@Param("shard") int shard, @Param("shardCount") int shardCount);
 }
@@ -0,0 +1,29 @@
+package com.example.tracker.security;
+
+import com.example.tracker.service.UserCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+// Resolves the id of the user behind the current request from the security principal
+@Component
+public class CurrentUser {
+
+    @Autowired
+    private UserCache userCache;
+
+    public Long getId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new RuntimeException("No authenticated user.");
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getUserId();
+        }
+        // Principals created elsewhere only carry the name
+        return userCache.getByUsername(authentication.getName())
+                .map(UserCache.CachedUser::getId)
+                .orElseThrow(() -> new RuntimeException("Authenticated user not found in database."));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.tracker.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Issues and verifies short-lived access tokens in the compact JWT format, signed with HMAC-SHA256.
+// Verification is a MAC over a few hundred bytes plus a small JSON parse: no BCrypt, no database.
+// The token carries everything the request path needs (user id and name), so it is self-contained.
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String HEADER = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    // Base64-encoded HMAC key of at least 32 bytes, shared by every node
+    @Value("${security.token.secret:}")
+    private String secret;
+
+    // Development only: with no secret, sign with a random per-process key. Tokens then stop
+    // working on restart and are rejected by every other node.
+    @Value("${security.token.allow-random-secret:false}")
+    private boolean allowRandomSecret;
+
+    @Value("${security.token.ttl-seconds:900}")
+    private long ttlSeconds;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Mac instances are not thread-safe; each call clones this initialised prototype
+    private Mac macPrototype;
+
+    @PostConstruct
+    public void init() throws GeneralSecurityException {
+        byte[] key;
+        if (secret == null || secret.isEmpty()) {
+            if (!allowRandomSecret) {
+                throw new IllegalStateException("security.token.secret is not set; set it (TOKEN_SECRET) to the same key on every node, "
+                        + "or set security.token.allow-random-secret=true for a single development instance");
+            }
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            log.warn("security.token.secret is not set; using a random key, tokens will not survive a restart");
+        } else {
+            key = Base64.getDecoder().decode(secret);
+            if (key.length < 32) {
+                throw new IllegalStateException("security.token.secret must decode to at least 32 bytes");
+            }
+        }
+        macPrototype = Mac.getInstance(ALGORITHM);
+        macPrototype.init(new SecretKeySpec(key, ALGORITHM));
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public String issue(AuthenticatedUser user) {
+        long now = Instant.now().getEpochSecond();
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", user.getUsername());
+        claims.put("uid", user.getUserId());
+        claims.put("iat", now);
+        claims.put("exp", now + ttlSeconds);
+        try {
+            String signingInput = HEADER + "." + base64Url(objectMapper.writeValueAsBytes(claims));
+            return signingInput + "." + base64Url(sign(signingInput));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not issue token", e);
+        }
+    }
+
+    // Returns the principal for a valid, unexpired token and empty for anything else
+    public Optional<AuthenticatedUser> verify(String token) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot) {
+            return Optional.empty();
+        }
+        String signingInput = token.substring(0, lastDot);
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(lastDot + 1));
+            if (!token.substring(0, firstDot).equals(HEADER)
+                    || !MessageDigest.isEqual(signature, sign(signingInput))) {
+                return Optional.empty();
+            }
+            JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(firstDot + 1, lastDot)));
+            if (!claims.path("exp").canConvertToLong()
+                    || claims.path("exp").asLong() <= Instant.now().getEpochSecond()
+                    || !claims.path("uid").canConvertToLong()
+                    || !claims.path("sub").isTextual()) {
+                return Optional.empty();
+            }
+            // The password is never needed after login, so the principal carries none
+            return Optional.of(new AuthenticatedUser(claims.get("uid").asLong(), claims.get("sub").asText(), "", new ArrayList<>()));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String signingInput) throws CloneNotSupportedException {
+        Mac mac = (Mac) macPrototype.clone();
+        return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -1,30 +1,185 @@
 package com.example.tracker.service;
 
+import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSCredentialsProvider;
-import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicSessionCredentials;
 import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
-import com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClientBuilder;
 import com.amazonaws.services.securitytoken.model.AssumeRoleRequest;
 import com.amazonaws.services.securitytoken.model.AssumeRoleResult;
+import com.amazonaws.services.securitytoken.model.Credentials;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Service
 public class AWSCredentialService {
 
+    private static final Logger log = LoggerFactory.getLogger(AWSCredentialService.class);
+
+    // Credentials are refreshed in the background once they are this close to expiring
+    @Value("${aws.sts.refresh-ahead-seconds:600}")
+    private long refreshAheadSeconds;
+
+    // ...and never handed out once they are this close to expiring
+    @Value("${aws.sts.expiry-buffer-seconds:60}")
+    private long expiryBufferSeconds;
+
+    @Autowired
+    private AwsApiThrottle awsApiThrottle;
+
+    // The shared client from AwsClientConfig, created on first use
+    @Autowired
+    private ObjectProvider<AWSSecurityTokenService> stsClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer assumeRoleTimer;
+
+    // Keyed by role ARN; an incomplete future is an AssumeRole call that concurrent callers share
+    private final ConcurrentHashMap<String, CompletableFuture<SessionCredentials>> credentialCache = new ConcurrentHashMap<>();
+    private final Set<String> backgroundRefreshes = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    public void init() {
+        // Times each attempt on the wire; rate-limit waits and backoff are not included
+        assumeRoleTimer = Timer.builder("aws.sts.assume-role")
+                .description("STS AssumeRole latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     public AWSCredentialsProvider assumeRoleAndGetCredentials(String roleArn, String roleSessionName) {
-        AWSSecurityTokenService stsClient = AWSSecurityTokenServiceClientBuilder.standard().build();
+        // Resolve once up front so configuration errors surface to the caller, not to the SDK later on
+        getSessionCredentials(roleArn, roleSessionName);
+        return getCredentialsProvider(roleArn, roleSessionName);
+    }
+
+    // Same as above but lazy: AssumeRole only happens when the SDK first asks for credentials
+    public AWSCredentialsProvider getCredentialsProvider(String roleArn, String roleSessionName) {
+        return new CachedRoleCredentialsProvider(roleArn, roleSessionName);
+    }
 
+    public BasicSessionCredentials getSessionCredentials(String roleArn, String roleSessionName) {
+        Instant now = Instant.now();
+        CompletableFuture<SessionCredentials> cached = credentialCache.get(roleArn);
+        if (isUsable(cached, now)) {
+            SessionCredentials credentials = cached.join();
+            if (now.isAfter(credentials.expiration.minusSeconds(refreshAheadSeconds))) {
+                refreshInBackground(roleArn, roleSessionName);
+            }
+            return credentials.credentials;
+        }
+
+        CompletableFuture<SessionCredentials> future = credentialCache.compute(roleArn, (arn, existing) -> {
+            if (existing != null && (!existing.isDone() || isUsable(existing, now))) {
+                return existing;
+            }
+            return CompletableFuture.supplyAsync(() -> assumeRole(arn, roleSessionName), refreshExecutor);
+        });
+        try {
+            return future.join().credentials;
+        } catch (CompletionException e) {
+            // Don't cache failures; the next caller retries AssumeRole
+            credentialCache.remove(roleArn, future);
+            throw unwrap(e);
+        }
+    }
+
+    public void invalidate(String roleArn) {
+        credentialCache.remove(roleArn);
+    }
+
+    private void refreshInBackground(String roleArn, String roleSessionName) {
+        if (!backgroundRefreshes.add(roleArn)) {
+            return; // A refresh for this role is already running
+        }
+        CompletableFuture.supplyAsync(() -> assumeRole(roleArn, roleSessionName), refreshExecutor)
+                .whenComplete((credentials, error) -> {
+                    if (error == null) {
+                        credentialCache.put(roleArn, CompletableFuture.completedFuture(credentials));
+                    } else {
+                        log.warn("Background STS refresh failed for role {}", roleArn, error);
+                    }
+                    backgroundRefreshes.remove(roleArn);
+                });
+    }
+
+    private boolean isUsable(CompletableFuture<SessionCredentials> future, Instant now) {
+        return future != null
+                && future.isDone()
+                && !future.isCompletedExceptionally()
+                && now.isBefore(future.join().expiration.minusSeconds(expiryBufferSeconds));
+    }
+
+    private SessionCredentials assumeRole(String roleArn, String roleSessionName) {
         AssumeRoleRequest assumeRoleRequest = new AssumeRoleRequest()
                 .withRoleArn(roleArn)
                 .withRoleSessionName(roleSessionName);
 
-        AssumeRoleResult assumeRoleResult = stsClient.assumeRole(assumeRoleRequest);
+        AssumeRoleResult assumeRoleResult = awsApiThrottle.callSts(() -> assumeRoleTimer.record(() -> stsClient.getObject().assumeRole(assumeRoleRequest)));
+        Credentials credentials = assumeRoleResult.getCredentials();
+
+        return new SessionCredentials(new BasicSessionCredentials(
+                credentials.getAccessKeyId(),
+                credentials.getSecretAccessKey(),
+                credentials.getSessionToken()
+        ), credentials.getExpiration().toInstant());
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        return e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private static final class SessionCredentials {
+        private final BasicSessionCredentials credentials;
+        private final Instant expiration;
+
+        private SessionCredentials(BasicSessionCredentials credentials, Instant expiration) {
+            this.credentials = credentials;
+            this.expiration = expiration;
+        }
+    }
+
+    // Always hands the SDK the freshest cached credentials, so long-lived clients survive rotation
+    private final class CachedRoleCredentialsProvider implements AWSCredentialsProvider {
+        private final String roleArn;
+        private final String roleSessionName;
+
+        private CachedRoleCredentialsProvider(String roleArn, String roleSessionName) {
+            this.roleArn = roleArn;
+            this.roleSessionName = roleSessionName;
+        }
+
+        @Override
+        public AWSCredentials getCredentials() {
+            return getSessionCredentials(roleArn, roleSessionName);
+        }
 
-        return new AWSStaticCredentialsProvider(new BasicSessionCredentials(
-                assumeRoleResult.getCredentials().getAccessKeyId(),
-                assumeRoleResult.getCredentials().getSecretAccessKey(),
-                assumeRoleResult.getCredentials().getSessionToken()
-        ));
+        @Override
+        public void refresh() {
+            invalidate(roleArn);
+        }
     }
 }
@@ -0,0 +1,152 @@
+package com.example.tracker.service;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.retry.RetryUtils;
+import com.example.tracker.ratelimit.AdaptiveRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// One adaptive rate limiter per AWS API, shared by every tenant and thread in the process, plus
+// the retry loop around each call. The SDK clients are built with retries disabled, so this is the
+// only place AWS calls are retried: throttling responses slow the shared limiter down, and every
+// retry waits a fully jittered exponential backoff. Besides throttling and retryable service
+// errors, that covers retryable client-side failures such as connection resets and timeouts.
+@Component
+public class AwsApiThrottle {
+
+    @Value("${aws.throttle.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${aws.throttle.base-backoff-millis:200}")
+    private long baseBackoffMillis;
+
+    @Value("${aws.throttle.max-backoff-millis:20000}")
+    private long maxBackoffMillis;
+
+    @Value("${aws.throttle.cost-explorer.initial-rate:5}")
+    private double costExplorerInitialRate;
+
+    @Value("${aws.throttle.cost-explorer.min-rate:0.2}")
+    private double costExplorerMinRate;
+
+    @Value("${aws.throttle.cost-explorer.max-rate:10}")
+    private double costExplorerMaxRate;
+
+    @Value("${aws.throttle.sts.initial-rate:10}")
+    private double stsInitialRate;
+
+    @Value("${aws.throttle.sts.min-rate:1}")
+    private double stsMinRate;
+
+    @Value("${aws.throttle.sts.max-rate:50}")
+    private double stsMaxRate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Api costExplorer;
+    private Api sts;
+
+    @PostConstruct
+    public void init() {
+        costExplorer = new Api(new AdaptiveRateLimiter("costexplorer", costExplorerInitialRate, costExplorerMinRate,
+                costExplorerMaxRate, costExplorerInitialRate / 20, Math.max(1, costExplorerInitialRate)));
+        sts = new Api(new AdaptiveRateLimiter("sts", stsInitialRate, stsMinRate,
+                stsMaxRate, stsInitialRate / 20, Math.max(1, stsInitialRate)));
+    }
+
+    public <T> T callCostExplorer(Supplier<T> call) {
+        return call(costExplorer, call);
+    }
+
+    public <T> T callSts(Supplier<T> call) {
+        return call(sts, call);
+    }
+
+    private <T> T call(Api api, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                api.limiter.acquire();
+                T result = call.get();
+                api.limiter.onSuccess();
+                return result;
+            } catch (AmazonServiceException e) {
+                boolean throttled = isThrottling(e);
+                if (throttled) {
+                    api.limiter.onThrottle();
+                    api.throttles.increment();
+                }
+                if ((!throttled && !RetryUtils.isRetryableServiceException(e)) || attempt >= maxAttempts) {
+                    throw e;
+                }
+                api.retries.increment();
+                sleep(backoffMillis(attempt));
+            } catch (SdkClientException e) {
+                // No response at all (connection reset, socket timeout); the server never saw a rate problem
+                if (!e.isRetryable() || attempt >= maxAttempts) {
+                    throw e;
+                }
+                api.retries.increment();
+                sleep(backoffMillis(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the " + api.limiter.getName() + " rate limit", e);
+            }
+        }
+    }
+
+    // Full jitter: uniform in [0, min(max, base * 2^(attempt - 1))]
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    // Cost Explorer reports its request rate limit as LimitExceededException
+    private static boolean isThrottling(AmazonServiceException e) {
+        return RetryUtils.isThrottlingException(e) || "LimitExceededException".equals(e.getErrorCode());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off an AWS call", e);
+        }
+    }
+
+    private final class Api {
+        private final AdaptiveRateLimiter limiter;
+        private final Counter throttles;
+        private final Counter retries;
+
+        private Api(AdaptiveRateLimiter limiter) {
+            this.limiter = limiter;
+            Gauge.builder("aws.ratelimit.rate", limiter, AdaptiveRateLimiter::getRate)
+                    .description("Current permitted requests per second")
+                    .tag("api", limiter.getName())
+                    .register(meterRegistry);
+            Gauge.builder("aws.ratelimit.tokens", limiter, AdaptiveRateLimiter::getAvailableTokens)
+                    .description("Tokens in the bucket; negative while callers are waiting")
+                    .tag("api", limiter.getName())
+                    .register(meterRegistry);
+            this.throttles = Counter.builder("aws.ratelimit.throttles")
+                    .description("Throttling responses received")
+                    .tag("api", limiter.getName())
+                    .register(meterRegistry);
+            this.retries = Counter.builder("aws.ratelimit.retries")
+                    .description("Calls retried after a throttling, server or network error")
+                    .tag("api", limiter.getName())
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.tracker.service;
+
+import com.example.tracker.dto.BackfillJobDTO;
+import com.example.tracker.model.BackfillChunk;
+import com.example.tracker.model.BackfillJob;
+import com.example.tracker.model.BackfillStatus;
+import com.example.tracker.model.User;
+import com.example.tracker.repository.BackfillChunkRepository;
+import com.example.tracker.repository.BackfillJobRepository;
+import com.example.tracker.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+// Historical ingestion over arbitrary ranges. A job is split into chunks of backfill.chunk-days
+// that run through IngestionExecutor (so one AWS account never gets more than its per-account
+// share of concurrent calls) and write through the same batched upsert path as the nightly run.
+// Every finished chunk is checkpointed, so a job interrupted by a crash or restart resumes with
+// the chunks that are still open.
+@Service
+public class BackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(BackfillService.class);
+
+    private static final String BACKFILL_LEASE = "backfill";
+
+    @Value("${backfill.chunk-days:30}")
+    private int chunkDays;
+
+    @Value("${backfill.max-attempts:3}")
+    private int maxAttempts;
+
+    // Doubles after each failed attempt of a chunk
+    @Value("${backfill.retry-backoff-millis:5000}")
+    private long retryBackoffMillis;
+
+    @Autowired
+    private BackfillJobRepository backfillJobRepository;
+
+    @Autowired
+    private BackfillChunkRepository backfillChunkRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CloudCostService cloudCostService;
+
+    @Autowired
+    private IngestionExecutor ingestionExecutor;
+
+    @Autowired
+    private CostForecastService costForecastService;
+
+    @Autowired
+    private JobLeaseCoordinator jobLeaseCoordinator;
+
+    @Autowired
+    private TenantDataVersionService tenantDataVersionService;
+
+    @Autowired
+    private CostPartitionService costPartitionService;
+
+    private final ExecutorService jobExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Jobs running in this process, so a resume request cannot start a second runner for one job
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    // endDate is inclusive here, like every other API date range
+    @Transactional
+    public BackfillJob createJob(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("'from' and 'to' are required");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (!endDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("'to' must be before today");
+        }
+        // Older days only exist as compacted monthly rows, which re-ingested daily rows would double
+        LocalDate retentionStart = costPartitionService.getDailyRetentionStart();
+        if (startDate.isBefore(retentionStart)) {
+            throw new IllegalArgumentException("'from' must not be before " + retentionStart);
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found."));
+        if (user.getAwsIamRoleArn() == null || user.getAwsIamRoleArn().isEmpty()) {
+            throw new IllegalArgumentException("User does not have an AWS IAM Role ARN configured.");
+        }
+
+        LocalDate endExclusive = endDate.plusDays(1);
+        BackfillJob job = backfillJobRepository.save(new BackfillJob(userId, startDate, endExclusive));
+        List<BackfillChunk> chunks = new ArrayList<>();
+        for (LocalDate chunkStart = startDate; chunkStart.isBefore(endExclusive); chunkStart = chunkStart.plusDays(chunkDays)) {
+            LocalDate chunkEnd = chunkStart.plusDays(chunkDays);
+            chunks.add(new BackfillChunk(job.getId(), chunkStart, chunkEnd.isAfter(endExclusive) ? endExclusive : chunkEnd));
+        }
+        backfillChunkRepository.saveAll(chunks);
+        return job;
+    }
+
+    // Runs the job's open chunks on a background thread; a no-op if it is already running here.
+    // The job's lease keeps a second node (e.g. every node resuming on startup) from running it too.
+    public void start(Long jobId) {
+        if (runningJobs.add(jobId)) {
+            jobExecutor.submit(() -> {
+                boolean leased = false;
+                try {
+                    leased = jobLeaseCoordinator.tryAcquire(BACKFILL_LEASE, jobId);
+                    if (leased) {
+                        run(jobId);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Backfill job {} stopped", jobId, e);
+                } finally {
+                    if (leased) {
+                        jobLeaseCoordinator.release(BACKFILL_LEASE, jobId);
+                    }
+                    runningJobs.remove(jobId);
+                }
+            });
+        }
+    }
+
+    // Failed chunks get a fresh set of attempts when a job is resumed by hand
+    @Transactional
+    public void resetFailedChunks(Long jobId) {
+        for (BackfillChunk chunk : backfillChunkRepository.findByJobIdOrderByStartDate(jobId)) {
+            if (chunk.getStatus() == BackfillStatus.FAILED) {
+                chunk.setStatus(BackfillStatus.PENDING);
+                chunk.setAttempts(0);
+            }
+        }
+    }
+
+    public BackfillJobDTO getJob(Long jobId, Long userId) {
+        BackfillJob job = backfillJobRepository.findById(jobId)
+                .filter(found -> found.getUserId().equals(userId))
+                .orElseThrow(() -> new IllegalArgumentException("Backfill job not found."));
+        return new BackfillJobDTO(job, backfillChunkRepository.findByJobIdOrderByStartDate(jobId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        for (BackfillJob job : backfillJobRepository.findByStatusIn(EnumSet.of(BackfillStatus.PENDING, BackfillStatus.RUNNING))) {
+            log.info("Resuming backfill job {} for user {}", job.getId(), job.getUserId());
+            start(job.getId());
+        }
+    }
+
+    // Jobs whose node died mid-run stay RUNNING; once their lease expires another node picks them up
+    @Scheduled(fixedDelayString = "${cluster.takeover-interval-millis:60000}")
+    public void takeOverOrphanedJobs() {
+        for (BackfillJob job : backfillJobRepository.findByStatusIn(EnumSet.of(BackfillStatus.PENDING, BackfillStatus.RUNNING))) {
+            start(job.getId());
+        }
+    }
+
+    private void run(Long jobId) {
+        BackfillJob job = backfillJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalStateException("Backfill job " + jobId + " not found"));
+        User user = userRepository.findById(job.getUserId())
+                .orElseThrow(() -> new IllegalStateException("User " + job.getUserId() + " not found"));
+        job.setStatus(BackfillStatus.RUNNING);
+        job.setFinishedAt(null);
+        backfillJobRepository.save(job);
+
+        List<BackfillChunk> openChunks = backfillChunkRepository.findByJobIdOrderByStartDate(jobId).stream()
+                .filter(chunk -> chunk.getStatus() != BackfillStatus.COMPLETED && chunk.getAttempts() < maxAttempts)
+                .collect(Collectors.toList());
+        String accountId = IngestionExecutor.awsAccountId(user.getAwsIamRoleArn());
+        List<IngestionResult<BackfillChunk>> results = ingestionExecutor.execute(openChunks,
+                chunk -> accountId,
+                chunk -> runChunk(user, chunk));
+
+        int failures = 0;
+        for (IngestionResult<BackfillChunk> result : results) {
+            if (!result.isSuccess()) {
+                failures++;
+            }
+        }
+        boolean complete = backfillChunkRepository.findByJobIdOrderByStartDate(jobId).stream()
+                .allMatch(chunk -> chunk.getStatus() == BackfillStatus.COMPLETED);
+        job.setStatus(complete ? BackfillStatus.COMPLETED : BackfillStatus.FAILED);
+        job.setFinishedAt(Instant.now());
+        backfillJobRepository.save(job);
+        log.info("Backfill job {} {}: {} chunks run, {} failed", jobId, job.getStatus(), openChunks.size(), failures);
+
+        if (complete) {
+            // The history the forecasts are fitted on may have changed
+            try {
+                costForecastService.fit(user.getId(), LocalDate.now().minusDays(1));
+                tenantDataVersionService.bump(user.getId());
+            } catch (RuntimeException e) {
+                log.error("Forecast fitting failed for user {}", user.getUsername(), e);
+            }
+        }
+    }
+
+    // Retries a failing chunk with exponential backoff until it has used backfill.max-attempts
+    // attempts in total; every attempt is recorded, so a resumed job does not start over at zero
+    private int runChunk(User user, BackfillChunk chunk) {
+        long backoffMillis = retryBackoffMillis;
+        while (true) {
+            chunk.setStatus(BackfillStatus.RUNNING);
+            chunk.setAttempts(chunk.getAttempts() + 1);
+            backfillChunkRepository.save(chunk);
+            try {
+                int rows = cloudCostService.ingestCostRange(user, chunk.getStartDate(), chunk.getEndDate());
+                // The checkpoint: a resumed job skips this chunk from here on
+                chunk.setStatus(BackfillStatus.COMPLETED);
+                chunk.setRowCount(rows);
+                chunk.setLastError(null);
+                chunk.setCompletedAt(Instant.now());
+                backfillChunkRepository.save(chunk);
+                return rows;
+            } catch (RuntimeException e) {
+                String message = String.valueOf(e.getMessage());
+                chunk.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+                if (chunk.getAttempts() >= maxAttempts) {
+                    chunk.setStatus(BackfillStatus.FAILED);
+                    backfillChunkRepository.save(chunk);
+                    throw e;
+                }
+                chunk.setStatus(BackfillStatus.PENDING);
+                backfillChunkRepository.save(chunk);
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                // Shutting down; the chunk stays PENDING and runs again when the job is resumed
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Backfill interrupted", e);
+            }
+            backoffMillis *= 2;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+}
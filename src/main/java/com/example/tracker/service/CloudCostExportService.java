@@ -0,0 +1,119 @@
+package com.example.tracker.service;
+
+import com.example.tracker.dto.CloudCostResponseDTO;
+import com.example.tracker.dto.CloudCostRow;
+import com.example.tracker.repository.CloudCostRepository;
+import com.example.tracker.repository.DimensionCache;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class CloudCostExportService {
+
+    private static final String CSV_HEADER = "id,serviceName,cost,usageType,region,startDate,endDate,userId\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private CloudCostRepository cloudCostRepository;
+
+    @Autowired
+    private DimensionCache dimensionCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public enum ExportFormat {
+        NDJSON, CSV;
+
+        public static ExportFormat parse(String value) {
+            for (ExportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Format must be 'ndjson' or 'csv'");
+        }
+    }
+
+    // Streams gzip-compressed rows straight from the database cursor to the output. Rows are
+    // projections, not entities, so nothing accumulates in the persistence context and memory stays
+    // flat however many rows are exported. Compacted months go first, as month-granular rows (see
+    // CloudCostRepositoryCustom.findPage), so the export still adds up to the summary totals. They
+    // are read before the daily stream opens, which then has the connection to itself.
+    @Transactional(readOnly = true)
+    public void export(Long userId, LocalDate from, LocalDate to, ExportFormat format, OutputStream out) throws IOException {
+        ObjectWriter jsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        try (Stream<CloudCostRow> rows = cloudCostRepository.streamCompactedRows(userId, from, to)) {
+            writeRows(rows, format, jsonWriter, writer);
+        }
+        try (Stream<CloudCostRow> rows = cloudCostRepository.streamForExport(userId, from, to)) {
+            writeRows(rows, format, jsonWriter, writer);
+        }
+        writer.flush();
+        gzip.finish();
+    }
+
+    private void writeRows(Stream<CloudCostRow> rows, ExportFormat format, ObjectWriter jsonWriter, Writer writer) throws IOException {
+        Iterator<CloudCostRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            CloudCostResponseDTO row = dimensionCache.toResponse(iterator.next());
+
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, row);
+            } else {
+                jsonWriter.writeValue(writer, row);
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, CloudCostResponseDTO row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(csvField(row.getServiceName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getCost()));
+        writer.write(',');
+        writer.write(csvField(row.getUsageType()));
+        writer.write(',');
+        writer.write(csvField(row.getRegion()));
+        writer.write(',');
+        writer.write(row.getStartDate() != null ? row.getStartDate().toString() : "");
+        writer.write(',');
+        writer.write(row.getEndDate() != null ? row.getEndDate().toString() : "");
+        writer.write(',');
+        writer.write(String.valueOf(row.getUserId()));
+        writer.write('\n');
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
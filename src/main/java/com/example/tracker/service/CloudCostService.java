@@ -1,26 +1,55 @@
 package com.example.tracker.service;
 
+import com.example.tracker.dto.CloudCostPageDTO;
 import com.example.tracker.dto.CloudCostRequestDTO;
+import com.example.tracker.cube.CubeDimension;
+import com.example.tracker.cube.CubeQuery;
 import com.example.tracker.dto.CloudCostResponseDTO;
+import com.example.tracker.dto.CloudCostRow;
+import com.example.tracker.dto.CostCubeRowDTO;
+import com.example.tracker.dto.CostTrendPointDTO;
 import com.example.tracker.model.CloudCost;
 import com.example.tracker.model.User;
 import com.example.tracker.repository.CloudCostRepository;
+import com.example.tracker.repository.DimensionCache;
 import com.example.tracker.repository.UserRepository;
+import com.example.tracker.security.CurrentUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 
 @Service
 public class CloudCostService {
 
+    private static final Logger log = LoggerFactory.getLogger(CloudCostService.class);
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    static final String INGESTION_JOB = "aws-cost-ingestion";
+
     @Autowired
     private CloudCostRepository cloudCostRepository;
 
@@ -30,14 +59,67 @@ public class CloudCostService {
     @Autowired
     private CostExplorerService costExplorerService;
 
-    private User getCurrentAuthenticatedUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found in database."));
+    @Autowired
+    private IngestionExecutor ingestionExecutor;
+
+    @Autowired
+    private CostRollupService costRollupService;
+
+    @Autowired
+    private CostPartitionService costPartitionService;
+
+    @Autowired
+    private CostCubeService costCubeService;
+
+    @Autowired
+    private CostAnomalyDetector costAnomalyDetector;
+
+    @Autowired
+    private CostForecastService costForecastService;
+
+    @Autowired
+    private DimensionCache dimensionCache;
+
+    @Autowired
+    private CurrentUser currentUser;
+
+    @Autowired
+    private JobLeaseCoordinator jobLeaseCoordinator;
+
+    @Autowired
+    private TenantDataVersionService tenantDataVersionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter rowsPersisted;
+    private Timer tenantSuccesses;
+    private Timer tenantFailures;
+    private Counter tenantFailureCount;
+
+    @PostConstruct
+    public void registerShardedJobs() {
+        // rows persisted per second is rate(ingestion.rows.persisted) on the monitoring side
+        rowsPersisted = Counter.builder("ingestion.rows.persisted")
+                .description("Cost rows upserted by AWS ingestion and backfills")
+                .register(meterRegistry);
+        // Not tagged by tenant: one series per user would not scale; the per-user log line stays
+        tenantSuccesses = tenantTimer("success");
+        tenantFailures = tenantTimer("failure");
+        tenantFailureCount = Counter.builder("ingestion.tenant.failures")
+                .description("Tenants whose nightly ingestion failed")
+                .register(meterRegistry);
+        jobLeaseCoordinator.register(INGESTION_JOB, this::ingestShard);
     }
 
+    // The row, its rollups and the data version commit together, so no reader sees one without the others.
+    // Dimension ids are resolved before that transaction opens: creating a new dimension row inside it
+    // would hold a second pooled connection (see DimensionCache).
     public CloudCostResponseDTO saveCloudCost(CloudCostRequestDTO requestDTO) {
-        User currentUser = getCurrentAuthenticatedUser();
+        Long userId = currentUser.getId();
 
         if (requestDTO.getServiceName() == null || requestDTO.getServiceName().isEmpty()) {
             throw new IllegalArgumentException("Service name cannot be empty");
@@ -45,6 +127,11 @@ public class CloudCostService {
         if (requestDTO.getCost() == null) {
             throw new IllegalArgumentException("Cost cannot be empty");
         }
+        // cloud_costs is partitioned on it
+        if (requestDTO.getStartDate() == null) {
+            throw new IllegalArgumentException("Start date cannot be empty");
+        }
+        requireDailyRetention(requestDTO.getStartDate());
 
         CloudCost cloudCost = new CloudCost();
         cloudCost.setServiceName(requestDTO.getServiceName());
@@ -53,23 +140,88 @@ public class CloudCostService {
         cloudCost.setRegion(requestDTO.getRegion());
         cloudCost.setStartDate(requestDTO.getStartDate());
         cloudCost.setEndDate(requestDTO.getEndDate());
-        cloudCost.setUser(currentUser);
-
-        CloudCost savedCloudCost = cloudCostRepository.save(cloudCost);
+        // A reference is enough to set the foreign key; the user row is not loaded
+        cloudCost.setUser(userRepository.getReferenceById(userId));
+        dimensionCache.encode(cloudCost);
 
-        return new CloudCostResponseDTO(savedCloudCost);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            // Flushed so the rollup rebuild's native queries see the row
+            CloudCost savedCloudCost = cloudCostRepository.saveAndFlush(cloudCost);
+            costRollupService.refreshDay(userId, savedCloudCost.getStartDate());
+            costCubeService.invalidate(userId);
+            tenantDataVersionService.bump(userId);
+            return new CloudCostResponseDTO(savedCloudCost);
+        });
     }
 
-    public List<CloudCostResponseDTO> getAllCloudCosts() {
-        User currentUser = getCurrentAuthenticatedUser();
-        List<CloudCost> cloudCosts = cloudCostRepository.findByUser(currentUser);
-        return cloudCosts.stream()
-                .map(CloudCostResponseDTO::new)
+    public CloudCostPageDTO getCloudCostPage(int limit, String cursor, LocalDate from, LocalDate to,
+                                             String serviceName, String region, String usageType) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        Long userId = currentUser.getId();
+
+        LocalDate cursorDate = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = decodeCursor(cursor);
+            cursorDate = LocalDate.parse(position[0]);
+            cursorId = Long.parseLong(position[1]);
+        }
+
+        // Filters compare dimension ids; a name that was never stored cannot match any row
+        Integer serviceId = dimensionCache.findServiceId(serviceName);
+        Integer regionId = dimensionCache.findRegionId(region);
+        Integer usageTypeId = dimensionCache.findUsageTypeId(usageType);
+        if ((serviceName != null && serviceId == null) || (region != null && regionId == null)
+                || (usageType != null && usageTypeId == null)) {
+            return new CloudCostPageDTO(List.of(), null);
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<CloudCostRow> rows = cloudCostRepository.findPage(userId, from, to,
+                serviceId, regionId, usageTypeId, cursorDate, cursorId, limit + 1);
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            CloudCostRow last = rows.get(limit - 1);
+            nextCursor = encodeCursor(last.getStartDate(), last.getId());
+        }
+        List<CloudCostResponseDTO> items = rows.stream()
+                .map(dimensionCache::toResponse)
                 .collect(Collectors.toList());
+        return new CloudCostPageDTO(items, nextCursor);
     }
 
+    // The cursor is an opaque URL-safe token holding the (startDate, id) of the last row returned
+    private static String encodeCursor(LocalDate startDate, Long id) {
+        String position = startDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDate.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    // Checked and encoded first, then written in one transaction like saveCloudCost
     public CloudCostResponseDTO updateCloudCost(Long id, CloudCostRequestDTO requestDTO) throws Exception {
-        User currentUser = getCurrentAuthenticatedUser();
+        Long userId = currentUser.getId();
         Optional<CloudCost> existingCost = cloudCostRepository.findById(id);
 
         if (!existingCost.isPresent()) {
@@ -78,23 +230,43 @@ public class CloudCostService {
 
         CloudCost cloudCost = existingCost.get();
 
-        if (!cloudCost.getUser().getId().equals(currentUser.getId())) {
+        if (!cloudCost.getUser().getId().equals(userId)) {
             throw new Exception("You are not authorized to update this cloud cost.");
         }
+        if (requestDTO.getStartDate() == null) {
+            throw new IllegalArgumentException("Start date cannot be empty");
+        }
+        requireDailyRetention(cloudCost.getStartDate());
+        requireDailyRetention(requestDTO.getStartDate());
 
+        LocalDate previousStartDate = cloudCost.getStartDate();
         cloudCost.setCost(requestDTO.getCost());
         cloudCost.setServiceName(requestDTO.getServiceName());
         cloudCost.setUsageType(requestDTO.getUsageType());
         cloudCost.setRegion(requestDTO.getRegion());
         cloudCost.setStartDate(requestDTO.getStartDate());
         cloudCost.setEndDate(requestDTO.getEndDate());
+        // Changing only names leaves the entity clean, so the ids must be re-encoded explicitly
+        dimensionCache.encode(cloudCost);
 
-        CloudCost updatedCloudCost = cloudCostRepository.save(cloudCost);
-        return new CloudCostResponseDTO(updatedCloudCost);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            CloudCost updatedCloudCost = cloudCostRepository.saveAndFlush(cloudCost);
+            // merge() returns a fresh copy whose transient names were decoded from the old ids
+            dimensionCache.decode(updatedCloudCost);
+            costRollupService.refreshDay(userId, previousStartDate);
+            if (!Objects.equals(previousStartDate, updatedCloudCost.getStartDate())) {
+                costRollupService.refreshDay(userId, updatedCloudCost.getStartDate());
+            }
+            costCubeService.invalidate(userId);
+            tenantDataVersionService.bump(userId);
+            return new CloudCostResponseDTO(updatedCloudCost);
+        });
     }
 
+    @Transactional
     public void deleteCloudCost(Long id) throws Exception {
-        User currentUser = getCurrentAuthenticatedUser();
+        Long userId = currentUser.getId();
         Optional<CloudCost> existingCost = cloudCostRepository.findById(id);
 
         if (!existingCost.isPresent()) {
@@ -103,42 +275,142 @@ public class CloudCostService {
 
         CloudCost cloudCost = existingCost.get();
 
-        if (!cloudCost.getUser().getId().equals(currentUser.getId())) {
+        if (!cloudCost.getUser().getId().equals(userId)) {
             throw new Exception("You are not authorized to delete this cloud cost.");
         }
+        requireDailyRetention(cloudCost.getStartDate());
 
         cloudCostRepository.deleteById(id);
+        cloudCostRepository.flush();
+        costRollupService.refreshDay(userId, cloudCost.getStartDate());
+        costCubeService.invalidate(userId);
+        tenantDataVersionService.bump(userId);
     }
 
+    // Days before the retention start only exist as compacted monthly totals; rebuilding their
+    // rollups from the few daily rows left would wipe those totals
+    private void requireDailyRetention(LocalDate startDate) {
+        LocalDate retentionStart = costPartitionService.getDailyRetentionStart();
+        if (startDate != null && startDate.isBefore(retentionStart)) {
+            throw new IllegalArgumentException("Costs before " + retentionStart + " are kept as monthly totals and cannot be changed");
+        }
+    }
+
+    private Timer tenantTimer(String outcome) {
+        return Timer.builder("ingestion.tenant.duration")
+                .description("Per-tenant AWS ingestion duration")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Every node fires this; JobLeaseCoordinator hands each tenant shard to exactly one of them
     @Scheduled(cron = "0 0 1 * * ?") // Runs every day at 1 AM
     public void fetchAndSaveAwsCosts() {
-        List<User> users = userRepository.findAll();
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(1); // Fetch costs for yesterday
-
-        for (User user : users) {
-            if (user.getAwsIamRoleArn() != null && !user.getAwsIamRoleArn().isEmpty()) {
-                try {
-                    List<CloudCost> awsCosts = costExplorerService.getCostAndUsage(user, startDate, endDate);
-                    for (CloudCost cost : awsCosts) {
-                        // Check if a similar record already exists to avoid duplicates
-                        // For simplicity, we'll just save new ones. A more robust solution would check for existing records.
-                        cloudCostRepository.save(cost);
-                    }
-                    System.out.println("Fetched and saved AWS costs for user: " + user.getUsername());
-                } catch (Exception e) {
-                    System.err.println("Error fetching AWS costs for user " + user.getUsername() + ": " + e.getMessage());
-                }
+        jobLeaseCoordinator.trigger(INGESTION_JOB, LocalDate.now());
+    }
+
+    private void ingestShard(int shard, int shardCount, LocalDate runDate) {
+        List<User> users = userRepository.findByShard(shard, shardCount).stream()
+                .filter(user -> user.getAwsIamRoleArn() != null && !user.getAwsIamRoleArn().isEmpty())
+                .collect(Collectors.toList());
+        LocalDate startDate = runDate.minusDays(1); // Fetch costs for the day before the run
+
+        ingestAwsCosts(users, startDate, runDate);
+    }
+
+    public List<IngestionResult<User>> ingestAwsCosts(List<User> users, LocalDate startDate, LocalDate endDate) {
+        long start = System.currentTimeMillis();
+        List<IngestionResult<User>> results = ingestionExecutor.execute(users,
+                user -> IngestionExecutor.awsAccountId(user.getAwsIamRoleArn()),
+                user -> ingestAwsCostsForUser(user, startDate, endDate));
+
+        int failures = 0;
+        for (IngestionResult<User> result : results) {
+            (result.isSuccess() ? tenantSuccesses : tenantFailures).record(result.getDurationMillis(), TimeUnit.MILLISECONDS);
+            if (result.isSuccess()) {
+                log.info("Fetched and saved AWS costs for user {} ({} rows in {} ms)", result.getItem().getUsername(),
+                        result.getRowCount(), result.getDurationMillis());
+            } else {
+                failures++;
+                tenantFailureCount.increment();
+                log.error("Error fetching AWS costs for user {}: {}", result.getItem().getUsername(), result.getErrorMessage());
             }
         }
+        log.info("AWS cost ingestion finished for {} users ({} failed) in {} ms", results.size(), failures,
+                System.currentTimeMillis() - start);
+        return results;
+    }
+
+    private int ingestAwsCostsForUser(User user, LocalDate startDate, LocalDate endDate) {
+        int rows = ingestCostRange(user, startDate, endDate);
+        // Both read the freshly rebuilt daily totals; their failures must not fail the ingestion
+        try {
+            costAnomalyDetector.observe(user.getId(), startDate, endDate);
+        } catch (RuntimeException e) {
+            log.error("Anomaly detection failed for user {}", user.getUsername(), e);
+        }
+        try {
+            costForecastService.fit(user.getId(), endDate.minusDays(1));
+        } catch (RuntimeException e) {
+            log.error("Forecast fitting failed for user {}", user.getUsername(), e);
+        }
+        // Anomaly recommendations and forecasts changed after ingestCostRange's bump; the cube did not
+        costCubeService.advanceVersion(user.getId(), tenantDataVersionService.bump(user.getId()));
+        return rows;
     }
 
-    public Map<String, Double> getCloudCostSummary() {
-        User currentUser = getCurrentAuthenticatedUser();
-        List<CloudCost> cloudCosts = cloudCostRepository.findByUser(currentUser);
+    // Fetches and persists [startDate, endDate) for one user and refreshes the derived tables.
+    // Each Cost Explorer page is upserted while the next one is being fetched, so re-runs are idempotent.
+    public int ingestCostRange(User user, LocalDate startDate, LocalDate endDate) {
+        int rows = costExplorerService.streamCostAndUsage(user, startDate, endDate, batch -> {
+            cloudCostRepository.upsertAll(batch);
+            rowsPersisted.increment(batch.size());
+            costCubeService.applyUpserts(user.getId(), batch);
+        });
+        costRollupService.refresh(user.getId(), startDate, endDate);
+        // The loaded cube already holds every upserted batch
+        costCubeService.advanceVersion(user.getId(), tenantDataVersionService.bump(user.getId()));
+        return rows;
+    }
+
+    public Map<String, Double> getCloudCostSummary(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        Long userId = currentUser.getId();
+
+        // Reads the daily rollup, so the cost depends on the number of (day, service) groups, not raw rows
+        return costRollupService.sumCostByService(userId, from, to);
+    }
 
-        return cloudCosts.stream()
-                .collect(Collectors.groupingBy(CloudCost::getServiceName,
-                        Collectors.summingDouble(CloudCost::getCost)));
+    public List<CostTrendPointDTO> getCloudCostTrend(String granularity, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        Long userId = currentUser.getId();
+
+        if ("daily".equalsIgnoreCase(granularity)) {
+            return costRollupService.getDailyTrend(userId, from, to);
+        }
+        if ("monthly".equalsIgnoreCase(granularity)) {
+            return costRollupService.getMonthlyTrend(userId, from, to);
+        }
+        throw new IllegalArgumentException("Granularity must be 'daily' or 'monthly'");
+    }
+
+    public List<CostCubeRowDTO> queryCostCube(List<String> groupBy, List<String> services, List<String> regions,
+                                              List<String> usageTypes, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        Set<CubeDimension> dimensions = EnumSet.noneOf(CubeDimension.class);
+        if (groupBy != null) {
+            for (String dimension : groupBy) {
+                dimensions.add(CubeDimension.parse(dimension));
+            }
+        }
+        Long userId = currentUser.getId();
+        return costCubeService.query(userId, new CubeQuery(dimensions, services, regions, usageTypes, from, to));
     }
 }
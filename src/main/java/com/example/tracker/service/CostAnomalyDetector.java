@@ -0,0 +1,125 @@
+package com.example.tracker.service;
+
+import com.example.tracker.model.CostAnomalyState;
+import com.example.tracker.model.DailyServiceCost;
+import com.example.tracker.model.Recommendation;
+import com.example.tracker.model.RecommendationType;
+import com.example.tracker.repository.CostAnomalyStateRepository;
+import com.example.tracker.repository.DailyServiceCostRepository;
+import com.example.tracker.repository.DimensionCache;
+import com.example.tracker.repository.RecommendationRepository;
+import com.example.tracker.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Streaming spike detector over each (user, service) daily spend series. Every new day is scored
+// against an exponentially weighted mean and variance and then folded into them, so the state is
+// O(1) per series and lives in cost_anomaly_states between runs.
+@Service
+public class CostAnomalyDetector {
+
+    // Weight of the newest day in the moving mean and variance
+    @Value("${anomaly.alpha:0.3}")
+    private double alpha;
+
+    // A day is anomalous when it sits this many standard deviations above the mean...
+    @Value("${anomaly.z-threshold:3.0}")
+    private double zThreshold;
+
+    // ...exceeds the mean by at least this amount, so noise on tiny services is ignored...
+    @Value("${anomaly.min-deviation:10.0}")
+    private double minDeviation;
+
+    // ...and the series has seen enough days for the statistics to mean something
+    @Value("${anomaly.min-observations:7}")
+    private int minObservations;
+
+    @Autowired
+    private CostAnomalyStateRepository costAnomalyStateRepository;
+
+    @Autowired
+    private DailyServiceCostRepository dailyServiceCostRepository;
+
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DimensionCache dimensionCache;
+
+    // Scores the user's daily rollup rows in [startDate, endDate). Days at or before a series' last
+    // seen day are skipped, so re-ingesting a range never double counts or re-alerts.
+    @Transactional
+    public List<Recommendation> observe(Long userId, LocalDate startDate, LocalDate endDate) {
+        Map<Integer, CostAnomalyState> states = new HashMap<>();
+        for (CostAnomalyState state : costAnomalyStateRepository.findByUserId(userId)) {
+            states.put(state.getServiceId(), state);
+        }
+
+        List<Recommendation> anomalies = new ArrayList<>();
+        Set<CostAnomalyState> changed = new LinkedHashSet<>();
+        // Ordered by day, so each series sees its days in sequence
+        for (DailyServiceCost day : dailyServiceCostRepository.findTrend(userId, startDate, endDate.minusDays(1))) {
+            CostAnomalyState state = states.computeIfAbsent(day.getServiceId(), serviceId -> new CostAnomalyState(userId, serviceId));
+            if (state.getLastDate() != null && !day.getUsageDate().isAfter(state.getLastDate())) {
+                continue;
+            }
+            Recommendation anomaly = score(userId, state, day);
+            if (anomaly != null) {
+                anomalies.add(anomaly);
+            }
+            update(state, day);
+            changed.add(state);
+        }
+
+        costAnomalyStateRepository.saveAll(changed);
+        recommendationRepository.saveAll(anomalies);
+        return anomalies;
+    }
+
+    private Recommendation score(Long userId, CostAnomalyState state, DailyServiceCost day) {
+        if (state.getObservations() < minObservations) {
+            return null;
+        }
+        double deviation = day.getTotalCost() - state.getMean();
+        double standardDeviation = Math.sqrt(state.getVariance());
+        if (deviation < minDeviation || deviation <= zThreshold * standardDeviation) {
+            return null;
+        }
+        String serviceName = Objects.requireNonNullElse(dimensionCache.serviceName(day.getServiceId()), "an unnamed service");
+        String description = String.format("Spend on %s was $%.2f on %s, against a typical $%.2f per day (%.1f standard deviations above normal).",
+                serviceName, day.getTotalCost(), day.getUsageDate(), state.getMean(),
+                standardDeviation > 0 ? deviation / standardDeviation : Double.POSITIVE_INFINITY);
+        return new Recommendation(userRepository.getReferenceById(userId), RecommendationType.COST_ANOMALY,
+                description, deviation, LocalDate.now());
+    }
+
+    // Incremental exponentially weighted update of mean and variance
+    private void update(CostAnomalyState state, DailyServiceCost day) {
+        double value = day.getTotalCost();
+        if (state.getObservations() == 0) {
+            state.setMean(value);
+            state.setVariance(0);
+        } else {
+            double diff = value - state.getMean();
+            double increment = alpha * diff;
+            state.setMean(state.getMean() + increment);
+            state.setVariance((1 - alpha) * (state.getVariance() + diff * increment));
+        }
+        state.setObservations(state.getObservations() + 1);
+        state.setLastDate(day.getUsageDate());
+    }
+}
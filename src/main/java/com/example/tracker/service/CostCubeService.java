@@ -0,0 +1,165 @@
+package com.example.tracker.service;
+
+import com.example.tracker.cube.CostCube;
+import com.example.tracker.cube.CubeQuery;
+import com.example.tracker.dto.CloudCostRow;
+import com.example.tracker.dto.CostCubeRowDTO;
+import com.example.tracker.model.CloudCost;
+import com.example.tracker.repository.CloudCostRepository;
+import com.example.tracker.repository.DimensionCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// Keeps one CostCube per recently used tenant. Cubes are loaded from cloud_costs on first use, kept
+// current by ingestion upserts and dropped (to be reloaded lazily) after manual edits. Each cube
+// carries the tenant data version it reflects; a query that finds the version moved (a write on
+// another node, or one this node did not apply) reloads the cube first.
+@Service
+public class CostCubeService {
+
+    @Value("${cube.max-tenants:100}")
+    private int maxTenants;
+
+    @Autowired
+    private CloudCostRepository cloudCostRepository;
+
+    @Autowired
+    private DimensionCache dimensionCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TenantDataVersionService tenantDataVersionService;
+
+    // An incomplete future is a load in progress that concurrent queries wait on
+    private final ConcurrentHashMap<Long, CompletableFuture<CostCube>> cubes = new ConcurrentHashMap<>();
+
+    public List<CostCubeRowDTO> query(Long userId, CubeQuery query) {
+        return getCube(userId).query(query);
+    }
+
+    public void applyUpserts(Long userId, List<CloudCost> cloudCosts) {
+        CompletableFuture<CostCube> future = cubes.get(userId);
+        if (future == null) {
+            return; // Not loaded; the next query reads these rows from the database
+        }
+        if (!future.isDone() || future.isCompletedExceptionally()) {
+            // The load may or may not have seen these rows, so start over on the next query
+            invalidate(userId);
+            return;
+        }
+        CostCube cube = future.join();
+        try {
+            for (CloudCost cloudCost : cloudCosts) {
+                if (cloudCost.getStartDate() != null) {
+                    cube.put(cloudCost.getServiceName(), cloudCost.getRegion(), cloudCost.getUsageType(),
+                            cloudCost.getStartDate(), cloudCost.getCost());
+                }
+            }
+        } catch (IllegalStateException e) {
+            invalidate(userId);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        cubes.remove(userId);
+    }
+
+    // Called with the version returned by a bump that only covered upserts already applied here,
+    // so the loaded cube stays valid instead of being reloaded on the next query
+    public void advanceVersion(Long userId, long newVersion) {
+        CompletableFuture<CostCube> future = cubes.get(userId);
+        if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+            future.join().advanceDataVersion(newVersion - 1, newVersion);
+        }
+    }
+
+    private CostCube getCube(Long userId) {
+        // Read before any load, so a cube can only be stamped older than its data, never newer
+        long version = tenantDataVersionService.currentVersion(userId);
+        while (true) {
+            CompletableFuture<CostCube> future = cubes.get(userId);
+            if (future == null) {
+                CompletableFuture<CostCube> loading = new CompletableFuture<>();
+                future = cubes.putIfAbsent(userId, loading);
+                if (future == null) {
+                    future = loading;
+                    try {
+                        loading.complete(load(userId, version));
+                    } catch (RuntimeException e) {
+                        cubes.remove(userId, loading);
+                        loading.completeExceptionally(e);
+                        throw e;
+                    }
+                    evictLeastRecentlyUsed();
+                }
+            }
+            CostCube cube;
+            try {
+                cube = future.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            if (cube.getDataVersion() >= version) {
+                cube.touch();
+                return cube;
+            }
+            // The tenant's data changed since this cube was loaded
+            cubes.remove(userId, future);
+        }
+    }
+
+    private CostCube load(Long userId, long version) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> {
+            CostCube cube = new CostCube();
+            cube.setDataVersion(version);
+            // Compacted months land on their first day, so only month-aligned ranges split them exactly.
+            // Read before the daily stream, which needs the connection to itself.
+            try (Stream<CloudCostRow> rows = cloudCostRepository.streamCompactedRows(userId, null, null)) {
+                rows.forEach(row -> cube.add(dimensionCache.serviceName(row.getServiceId()),
+                        dimensionCache.regionName(row.getRegionId()), dimensionCache.usageTypeName(row.getUsageTypeId()),
+                        row.getStartDate(), row.getCost()));
+            }
+            try (Stream<Object[]> rows = cloudCostRepository.streamCubeRows(userId)) {
+                // DimensionCache hands back the same String instance for every row of a dimension
+                rows.forEach(row -> cube.add(dimensionCache.serviceName((Integer) row[0]),
+                        dimensionCache.regionName((Integer) row[1]), dimensionCache.usageTypeName((Integer) row[2]),
+                        (LocalDate) row[3], ((Number) row[4]).doubleValue()));
+            }
+            return cube;
+        });
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (cubes.size() > maxTenants) {
+            Long eldest = null;
+            long eldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<Long, CompletableFuture<CostCube>> entry : cubes.entrySet()) {
+                CompletableFuture<CostCube> future = entry.getValue();
+                if (future.isDone() && !future.isCompletedExceptionally()
+                        && future.join().getLastAccessMillis() < eldestAccess) {
+                    eldest = entry.getKey();
+                    eldestAccess = future.join().getLastAccessMillis();
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            cubes.remove(eldest);
+        }
+    }
+}
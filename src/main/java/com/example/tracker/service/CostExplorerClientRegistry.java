@@ -0,0 +1,103 @@
+package com.example.tracker.service;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicSessionCredentials;
+import com.amazonaws.services.costexplorer.AWSCostExplorer;
+import com.amazonaws.services.costexplorer.model.GetCostAndUsageRequest;
+import com.amazonaws.services.costexplorer.model.GetCostAndUsageResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Hands out Cost Explorer clients per credential identity (role ARN). SDK v1 clients each own
+// their own Apache HTTP connection pool, so instead of one client per tenant every session
+// signs its requests with the tenant's credentials and runs them through one shared, pooled
+// client. Idle sessions are evicted along with their cached STS credentials.
+@Service
+public class CostExplorerClientRegistry {
+
+    @Value("${aws.cost-explorer.session-idle-timeout-minutes:30}")
+    private long sessionIdleTimeoutMinutes;
+
+    @Autowired
+    private AWSCredentialService awsCredentialService;
+
+    // The shared client from AwsClientConfig, created on first use
+    @Autowired
+    private ObjectProvider<AWSCostExplorer> costExplorerClient;
+
+    @Autowired
+    private AwsApiThrottle awsApiThrottle;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer requestTimer;
+
+    private final ConcurrentHashMap<String, CostExplorerSession> sessions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        // Times each attempt on the wire; rate-limit waits and backoff are not included
+        requestTimer = Timer.builder("aws.costexplorer.requests")
+                .description("Cost Explorer GetCostAndUsage latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public CostExplorerSession getSession(String roleArn, String roleSessionName) {
+        CostExplorerSession session = sessions.computeIfAbsent(roleArn, arn ->
+                new CostExplorerSession(arn, roleSessionName));
+        session.touch();
+        return session;
+    }
+
+    @Scheduled(fixedDelayString = "${aws.cost-explorer.eviction-interval-millis:300000}")
+    public void evictIdleSessions() {
+        long cutoff = System.currentTimeMillis() - sessionIdleTimeoutMinutes * 60_000;
+        sessions.values().removeIf(session -> {
+            if (session.lastUsedMillis < cutoff) {
+                awsCredentialService.invalidate(session.roleArn);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sessions.clear();
+    }
+
+    public class CostExplorerSession {
+        private final String roleArn;
+        private final String roleSessionName;
+        private volatile long lastUsedMillis;
+
+        private CostExplorerSession(String roleArn, String roleSessionName) {
+            this.roleArn = roleArn;
+            this.roleSessionName = roleSessionName;
+        }
+
+        private void touch() {
+            lastUsedMillis = System.currentTimeMillis();
+        }
+
+        public GetCostAndUsageResult getCostAndUsage(GetCostAndUsageRequest request) {
+            touch();
+            // Resolved before entering the Cost Explorer throttle: an AssumeRole call, its retries and its
+            // latency must not count against the Cost Explorer limiter or the request timer
+            BasicSessionCredentials credentials = awsCredentialService.getSessionCredentials(roleArn, roleSessionName);
+            request.setRequestCredentialsProvider(new AWSStaticCredentialsProvider(credentials));
+            return awsApiThrottle.callCostExplorer(() -> requestTimer.record(() -> costExplorerClient.getObject().getCostAndUsage(request)));
+        }
+    }
+}
@@ -1,8 +1,5 @@
 package com.example.tracker.service;
 
-import com.amazonaws.auth.AWSCredentialsProvider;
-import com.amazonaws.services.costexplorer.AWSCostExplorer;
-import com.amazonaws.services.costexplorer.AWSCostExplorerClientBuilder;
 import com.amazonaws.services.costexplorer.model.DateInterval;
 import com.amazonaws.services.costexplorer.model.GetCostAndUsageRequest;
 import com.amazonaws.services.costexplorer.model.GetCostAndUsageResult;
@@ -12,33 +9,65 @@ import com.amazonaws.services.costexplorer.model.GroupDefinitionType;
 import com.amazonaws.services.costexplorer.model.ResultByTime;
 import com.example.tracker.model.CloudCost;
 import com.example.tracker.model.User;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 @Service
 public class CostExplorerService {
 
     @Autowired
-    private AWSCredentialService awsCredentialService;
+    private CostExplorerClientRegistry costExplorerClientRegistry;
+
+    @Value("${aws.cost-explorer.max-pages:1000}")
+    private int maxPages;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private DistributionSummary pagesPerFetch;
+
+    private final ExecutorService batchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    public void init() {
+        pagesPerFetch = DistributionSummary.builder("aws.costexplorer.pages")
+                .description("Cost Explorer pages fetched per tenant and date range")
+                .register(meterRegistry);
+    }
 
     public List<CloudCost> getCostAndUsage(User user, LocalDate startDate, LocalDate endDate) {
+        List<CloudCost> cloudCosts = new ArrayList<>();
+        streamCostAndUsage(user, startDate, endDate, cloudCosts::addAll);
+        return cloudCosts;
+    }
+
+    // Follows NextPageToken and hands every page to the consumer as soon as it arrives. The consumer
+    // runs while the next page is being fetched, and at most one page waits on it, so memory stays
+    // bounded by two pages no matter how large the account is. Returns the number of rows emitted.
+    public int streamCostAndUsage(User user, LocalDate startDate, LocalDate endDate, Consumer<List<CloudCost>> batchConsumer) {
         if (user.getAwsIamRoleArn() == null || user.getAwsIamRoleArn().isEmpty()) {
             throw new IllegalArgumentException("User does not have an AWS IAM Role ARN configured.");
         }
 
-        AWSCredentialsProvider credentialsProvider = awsCredentialService.assumeRoleAndGetCredentials(
+        CostExplorerClientRegistry.CostExplorerSession ceSession = costExplorerClientRegistry.getSession(
                 user.getAwsIamRoleArn(), "CloudCostTrackerSession" + user.getId()
         );
 
-        AWSCostExplorer ceClient = AWSCostExplorerClientBuilder.standard()
-                .withCredentials(credentialsProvider)
-                .build();
-
         GetCostAndUsageRequest request = new GetCostAndUsageRequest()
                 .withTimePeriod(new DateInterval()
                         .withStart(startDate.format(DateTimeFormatter.ISO_DATE))
@@ -49,10 +78,36 @@ public class CostExplorerService {
                         new GroupDefinition().withType(GroupDefinitionType.DIMENSION).withKey("REGION"),
                         new GroupDefinition().withType(GroupDefinitionType.DIMENSION).withKey("USAGE_TYPE"));
 
-        GetCostAndUsageResult result = ceClient.getCostAndUsage(request);
+        int rows = 0;
+        int pages = 0;
+        String nextPageToken = null;
+        CompletableFuture<Void> pendingBatch = CompletableFuture.completedFuture(null);
+        try {
+            do {
+                if (++pages > maxPages) {
+                    throw new IllegalStateException("Cost Explorer returned more than " + maxPages + " pages for user " + user.getId());
+                }
+                GetCostAndUsageResult result = ceSession.getCostAndUsage(request.withNextPageToken(nextPageToken));
+                List<CloudCost> batch = toCloudCosts(result.getResultsByTime(), user);
+                rows += batch.size();
+
+                awaitBatch(pendingBatch);
+                pendingBatch = CompletableFuture.runAsync(() -> batchConsumer.accept(batch), batchExecutor);
+                nextPageToken = result.getNextPageToken();
+            } while (nextPageToken != null && !nextPageToken.isEmpty());
+        } catch (RuntimeException e) {
+            // Let the batch already handed off finish before reporting the failure
+            pendingBatch.exceptionally(error -> null).join();
+            throw e;
+        }
+        awaitBatch(pendingBatch);
+        pagesPerFetch.record(pages);
+        return rows;
+    }
 
+    public static List<CloudCost> toCloudCosts(List<ResultByTime> resultsByTime, User user) {
         List<CloudCost> cloudCosts = new ArrayList<>();
-        for (ResultByTime resultByTime : result.getResultsByTime()) {
+        for (ResultByTime resultByTime : resultsByTime) {
             LocalDate costDate = LocalDate.parse(resultByTime.getTimePeriod().getStart());
             for (Group group : resultByTime.getGroups()) {
                 String serviceName = group.getKeys().get(0);
@@ -73,4 +128,17 @@ public class CostExplorerService {
         }
         return cloudCosts;
     }
+
+    private static void awaitBatch(CompletableFuture<Void> batch) {
+        try {
+            batch.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdown();
+    }
 }
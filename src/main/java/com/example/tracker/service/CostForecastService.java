@@ -0,0 +1,197 @@
+package com.example.tracker.service;
+
+import com.example.tracker.dto.CostForecastDTO;
+import com.example.tracker.forecast.HoltWinters;
+import com.example.tracker.forecast.SeasonalForecast;
+import com.example.tracker.model.CostForecastModel;
+import com.example.tracker.model.DailyServiceCost;
+import com.example.tracker.repository.CostForecastModelRepository;
+import com.example.tracker.repository.DailyServiceCostRepository;
+import com.example.tracker.repository.DimensionCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Fits a weekly-seasonal Holt-Winters model per (user, service) after each ingestion run and serves
+// month-end projections from the fitted parameters. Models are stored in cost_forecast_models and
+// kept in memory per user (a few numbers per series), so serving a projection reads no cost rows.
+// Each user's copy carries the tenant data version it was loaded at and is reloaded once that
+// moves, so a refit on another node is picked up here too.
+@Service
+public class CostForecastService {
+
+    // How many days of the daily rollup each fit looks at
+    @Value("${forecast.history-days:56}")
+    private int historyDays;
+
+    @Value("${forecast.alpha:0.3}")
+    private double alpha;
+
+    @Value("${forecast.beta:0.05}")
+    private double beta;
+
+    @Value("${forecast.gamma:0.2}")
+    private double gamma;
+
+    @Autowired
+    private CostForecastModelRepository costForecastModelRepository;
+
+    @Autowired
+    private DailyServiceCostRepository dailyServiceCostRepository;
+
+    @Autowired
+    private DimensionCache dimensionCache;
+
+    @Autowired
+    private TenantDataVersionService tenantDataVersionService;
+
+    // userId -> fitted models; dropped after a local refit and reloaded from the table on next use
+    private final ConcurrentHashMap<Long, UserModels> models = new ConcurrentHashMap<>();
+
+    // Refits every series of the user from the daily rollup for the history window ending at `through`
+    @Transactional
+    public void fit(Long userId, LocalDate through) {
+        LocalDate firstDay = through.minusDays(historyDays - 1);
+        Map<Integer, double[]> series = new HashMap<>();
+        for (DailyServiceCost day : dailyServiceCostRepository.findTrend(userId, firstDay, through)) {
+            // Days without a rollup row stay zero: no spend that day
+            series.computeIfAbsent(day.getServiceId(), serviceId -> new double[historyDays])
+                    [(int) ChronoUnit.DAYS.between(firstDay, day.getUsageDate())] += day.getTotalCost();
+        }
+
+        Map<Integer, CostForecastModel> existing = new HashMap<>();
+        for (CostForecastModel model : costForecastModelRepository.findByUserId(userId)) {
+            existing.put(model.getServiceId(), model);
+        }
+
+        HoltWinters holtWinters = new HoltWinters(alpha, beta, gamma);
+        LocalDate forecastMonth = through.plusDays(1).withDayOfMonth(1);
+        List<CostForecastModel> fitted = new ArrayList<>();
+        for (Map.Entry<Integer, double[]> entry : series.entrySet()) {
+            double[] values = entry.getValue();
+            // Start each series at its first day of spend, so a new service is not fitted on leading zeros
+            int first = 0;
+            while (first < values.length - 1 && values[first] == 0) {
+                first++;
+            }
+            SeasonalForecast forecast = holtWinters.fit(firstDay.plusDays(first), Arrays.copyOfRange(values, first, values.length));
+
+            double monthToDate = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (!firstDay.plusDays(i).isBefore(forecastMonth)) {
+                    monthToDate += values[i];
+                }
+            }
+
+            CostForecastModel model = existing.remove(entry.getKey());
+            if (model == null) {
+                model = new CostForecastModel(userId, entry.getKey());
+            }
+            model.setFittedThrough(through);
+            model.setLevel(forecast.getLevel());
+            model.setTrend(forecast.getTrend());
+            model.setSeasonal(encodeSeasonal(forecast.getSeasonal()));
+            model.setForecastMonth(forecastMonth);
+            model.setMonthToDateCost(monthToDate);
+            fitted.add(model);
+        }
+
+        costForecastModelRepository.saveAll(fitted);
+        // Services with no spend in the whole window have nothing left to forecast
+        costForecastModelRepository.deleteAll(existing.values());
+        // Drop the cached models only once the new ones are visible, or a read could cache the old ones again
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                models.remove(userId);
+            }
+        });
+    }
+
+    public List<CostForecastDTO> getMonthEndForecasts(Long userId, String serviceName) {
+        // Read before loading, so the copy can only be stamped older than its models, never newer
+        long version = tenantDataVersionService.currentVersion(userId);
+        UserModels userModels = models.get(userId);
+        if (userModels == null || userModels.version < version) {
+            userModels = new UserModels(version, load(userId));
+            models.put(userId, userModels);
+        }
+        List<CostForecastDTO> forecasts = new ArrayList<>();
+        for (Map.Entry<Integer, CachedModel> entry : userModels.byServiceId.entrySet()) {
+            String name = dimensionCache.serviceName(entry.getKey());
+            if (serviceName != null && !serviceName.equals(name)) {
+                continue;
+            }
+            CachedModel model = entry.getValue();
+            LocalDate monthEnd = model.forecastMonth.with(TemporalAdjusters.lastDayOfMonth());
+            double remaining = model.forecast.forecastTotal(model.forecast.getFittedThrough().plusDays(1), monthEnd);
+            forecasts.add(new CostForecastDTO(name, model.forecastMonth, model.forecast.getFittedThrough(),
+                    model.monthToDateCost, remaining));
+        }
+        forecasts.sort(Comparator.comparingDouble(CostForecastDTO::getProjectedTotal).reversed()
+                .thenComparing(CostForecastDTO::getServiceName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return forecasts;
+    }
+
+    private Map<Integer, CachedModel> load(Long userId) {
+        Map<Integer, CachedModel> userModels = new HashMap<>();
+        for (CostForecastModel model : costForecastModelRepository.findByUserId(userId)) {
+            SeasonalForecast forecast = new SeasonalForecast(model.getFittedThrough(), model.getLevel(), model.getTrend(),
+                    decodeSeasonal(model.getSeasonal()));
+            userModels.put(model.getServiceId(), new CachedModel(forecast, model.getForecastMonth(), model.getMonthToDateCost()));
+        }
+        return userModels;
+    }
+
+    private static String encodeSeasonal(double[] seasonal) {
+        StringBuilder encoded = new StringBuilder();
+        for (double offset : seasonal) {
+            if (encoded.length() > 0) {
+                encoded.append(',');
+            }
+            encoded.append(offset);
+        }
+        return encoded.toString();
+    }
+
+    private static double[] decodeSeasonal(String seasonal) {
+        return Arrays.stream(Objects.requireNonNull(seasonal).split(",")).mapToDouble(Double::parseDouble).toArray();
+    }
+
+    private static final class UserModels {
+        private final long version;
+        private final Map<Integer, CachedModel> byServiceId;
+
+        private UserModels(long version, Map<Integer, CachedModel> byServiceId) {
+            this.version = version;
+            this.byServiceId = byServiceId;
+        }
+    }
+
+    private static final class CachedModel {
+        private final SeasonalForecast forecast;
+        private final LocalDate forecastMonth;
+        private final double monthToDateCost;
+
+        private CachedModel(SeasonalForecast forecast, LocalDate forecastMonth, double monthToDateCost) {
+            this.forecast = forecast;
+            this.forecastMonth = forecastMonth;
+            this.monthToDateCost = monthToDateCost;
+        }
+    }
+}
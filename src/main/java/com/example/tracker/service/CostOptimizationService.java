@@ -1,12 +1,16 @@
 package com.example.tracker.service;
 
-import com.example.tracker.model.CloudCost;
-import com.example.tracker.model.Recommendation;
+import com.example.tracker.dto.RecommendationResponseDTO;
 import com.example.tracker.model.User;
-import com.example.tracker.repository.CloudCostRepository;
 import com.example.tracker.repository.RecommendationRepository;
 import com.example.tracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -16,40 +20,61 @@ import java.util.List;
 @Service
 public class CostOptimizationService {
 
-    @Autowired
-    private CloudCostRepository cloudCostRepository;
+    private static final Logger log = LoggerFactory.getLogger(CostOptimizationService.class);
+
+    static final String RECOMMENDATION_JOB = "recommendations";
 
     @Autowired
     private RecommendationRepository recommendationRepository;
 
+    @Autowired
+    private UserCostAggregateService userCostAggregateService;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JobLeaseCoordinator jobLeaseCoordinator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer jobTimer;
+
+    @PostConstruct
+    public void registerShardedJobs() {
+        jobTimer = Timer.builder("recommendations.job")
+                .description("Recommendation job duration per tenant shard")
+                .register(meterRegistry);
+        jobLeaseCoordinator.register(RECOMMENDATION_JOB, this::generateRecommendationsForShard);
+    }
+
+    // Every node fires this; JobLeaseCoordinator hands each tenant shard to exactly one of them
     @Scheduled(cron = "0 0 2 * * ?") // Runs every day at 2 AM
     public void generateRecommendations() {
-        List<User> users = userRepository.findAll();
+        jobLeaseCoordinator.trigger(RECOMMENDATION_JOB, LocalDate.now());
+    }
+
+    private void generateRecommendationsForShard(int shard, int shardCount, LocalDate runDate) {
+        // The run day is still being ingested, so fold in complete days only
+        LocalDate through = runDate.minusDays(1);
+        List<User> users = userRepository.findByShard(shard, shardCount);
+        Timer.Sample sample = Timer.start(meterRegistry);
         for (User user : users) {
-            // Example: Identify high-cost services
-            List<CloudCost> userCosts = cloudCostRepository.findByUser(user);
-            double totalCost = userCosts.stream().mapToDouble(CloudCost::getCost).sum();
-
-            if (totalCost > 1000) { // Arbitrary threshold for high cost
-                Recommendation recommendation = new Recommendation(
-                        user,
-                        "High Cost Alert",
-                        "Your total cloud spending is high. Review your services for potential optimizations.",
-                        null, // No specific savings estimate for this general alert
-                        LocalDate.now()
-                );
-                recommendationRepository.save(recommendation);
+            try {
+                userCostAggregateService.update(user, through);
+            } catch (OptimisticLockingFailureException e) {
+                // A cost write rewound the aggregate meanwhile; the next run picks the days up again
+                log.warn("Skipped recommendation update for user {}: aggregate changed concurrently", user.getUsername());
             }
 
             // More sophisticated recommendation logic would go here
             // e.g., analyzing usage patterns, identifying idle resources (requires more data than just cost)
         }
+        sample.stop(jobTimer);
     }
 
-    public List<Recommendation> getRecommendationsForUser(User user) {
-        return recommendationRepository.findByUser(user);
+    public List<RecommendationResponseDTO> getRecommendationsForUser(Long userId) {
+        return recommendationRepository.findResponsesByUserId(userId);
     }
 }
@@ -0,0 +1,206 @@
+package com.example.tracker.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Maintains the monthly RANGE partitions of cloud_costs (db/012_cloud_costs_partitioning.sql).
+// Partitions are created cost-storage.months-ahead months in advance by splitting p_future.
+// Partitions that end before the daily retention window are compacted: their daily rows are
+// summed into cloud_costs_monthly and the partition is dropped, which is a metadata change
+// instead of a row-by-row delete. Queries with a start_date range are pruned to the partitions
+// they cover, so recent ranges only touch the newest ones.
+@Service
+public class CostPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(CostPartitionService.class);
+
+    private static final String MAINTENANCE_LEASE = "cost-partitions";
+
+    static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    // Names are spliced into DDL, so only ones this service creates are accepted
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("p\\d{6}");
+
+    @Value("${cost-storage.daily-retention-months:13}")
+    private int dailyRetentionMonths;
+
+    @Value("${cost-storage.months-ahead:3}")
+    private int monthsAhead;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobLeaseCoordinator jobLeaseCoordinator;
+
+    @Autowired
+    private CostCubeService costCubeService;
+
+    @Autowired
+    private TenantDataVersionService tenantDataVersionService;
+
+    // Every node fires this; the lease lets one of them run the DDL
+    @Scheduled(cron = "${cost-storage.maintenance-cron:0 30 4 * * ?}") // Runs every day at 4:30 AM
+    public void maintainPartitions() {
+        if (!jobLeaseCoordinator.tryAcquire(MAINTENANCE_LEASE, 0)) {
+            return;
+        }
+        try {
+            List<Partition> partitions = loadPartitions();
+            if (partitions.isEmpty()) {
+                log.info("cloud_costs is not partitioned; skipping partition maintenance");
+                return;
+            }
+            addMonthlyPartitions(partitions);
+            LocalDate cutoff = getDailyRetentionStart();
+            for (Partition partition : loadPartitions()) {
+                if (partition.upperBound == null || partition.upperBound.isAfter(cutoff) || !compact(partition)) {
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("Partition maintenance failed", e);
+        } finally {
+            jobLeaseCoordinator.release(MAINTENANCE_LEASE, 0);
+        }
+    }
+
+    // The first day still kept as daily rows; anything earlier is compacted on the next run
+    public LocalDate getDailyRetentionStart() {
+        return LocalDate.now().withDayOfMonth(1).minusMonths(dailyRetentionMonths);
+    }
+
+    // Splits p_future into monthly partitions up to months-ahead months past the current one.
+    // On the first run the table only has p_future, so the first partition takes everything
+    // older than the retention window and is compacted straight away.
+    private void addMonthlyPartitions(List<Partition> partitions) {
+        Partition last = partitions.get(partitions.size() - 1);
+        if (last.upperBound != null || !FUTURE_PARTITION.equals(last.name)) {
+            log.warn("cloud_costs does not end with a {} partition; not adding partitions", FUTURE_PARTITION);
+            return;
+        }
+        LocalDate through = LocalDate.now().withDayOfMonth(1).plusMonths(monthsAhead + 1);
+        LocalDate bound;
+        if (partitions.size() > 1) {
+            bound = partitions.get(partitions.size() - 2).upperBound.plusMonths(1);
+        } else {
+            Date oldest = jdbcTemplate.queryForObject("SELECT MIN(start_date) FROM cloud_costs", Date.class);
+            LocalDate firstMonth = oldest != null ? oldest.toLocalDate().withDayOfMonth(1) : LocalDate.now().withDayOfMonth(1);
+            LocalDate cutoff = getDailyRetentionStart();
+            bound = firstMonth.isBefore(cutoff) ? cutoff : firstMonth.plusMonths(1);
+        }
+
+        List<String> definitions = new ArrayList<>();
+        for (; !bound.isAfter(through); bound = bound.plusMonths(1)) {
+            definitions.add("PARTITION " + bound.minusMonths(1).format(PARTITION_MONTH) + " VALUES LESS THAN ('" + bound + "')");
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE cloud_costs REORGANIZE PARTITION " + FUTURE_PARTITION
+                + " INTO (" + String.join(", ", definitions) + ")");
+        log.info("Added {} cloud_costs partitions through {}", definitions.size() - 1, through.minusMonths(1));
+    }
+
+    // Sums the partition's daily rows into cloud_costs_monthly, then drops the partition. The
+    // monthly rows and the compaction record commit together, so a run that stops before the DROP
+    // only drops the partition when it comes back. Rows written into the partition in between are
+    // lost; ingestion never writes that far back (BackfillService rejects older ranges). Partitions
+    // are compacted oldest first and the loop stops at the first one that is not, so the partition
+    // always holds every row before its upper bound. Returns false when it was left alone.
+    private boolean compact(Partition partition) {
+        if (!MONTHLY_PARTITION.matcher(partition.name).matches()) {
+            log.warn("Not compacting unexpected cloud_costs partition {}", partition.name);
+            return false;
+        }
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM cloud_costs WHERE start_date < ?",
+                Long.class, Date.valueOf(partition.upperBound));
+
+        Integer compactions = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cost_partition_compactions WHERE partition_name = ?", Integer.class, partition.name);
+        long rowCount = 0;
+        if (compactions == 0) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            rowCount = transactionTemplate.execute(status -> {
+                long rows = summarizeMonths(partition.upperBound);
+                jdbcTemplate.update("INSERT INTO cost_partition_compactions (partition_name, range_end, row_count, compacted_at) "
+                        + "VALUES (?, ?, ?, CURRENT_TIMESTAMP(6))", partition.name, Date.valueOf(partition.upperBound), rows);
+                return rows;
+            });
+        }
+
+        jdbcTemplate.execute("ALTER TABLE cloud_costs DROP PARTITION " + partition.name);
+        jdbcTemplate.update("UPDATE cost_partition_compactions SET dropped_at = CURRENT_TIMESTAMP(6) WHERE partition_name = ?",
+                partition.name);
+        // The rollups already hold these days; only views built from the daily rows change
+        for (Long userId : userIds) {
+            costCubeService.invalidate(userId);
+            tenantDataVersionService.bump(userId);
+        }
+        log.info("Compacted cloud_costs partition {}: {} daily rows for {} users", partition.name, rowCount, userIds.size());
+        return true;
+    }
+
+    // Adds the daily rows before upperBound to cloud_costs_monthly, one row per user, month and
+    // dimension combination, and returns how many daily rows were read. The range predicate prunes
+    // to the partition being compacted, since everything older is already gone. Package-private for
+    // tests; H2 cannot drop partitions but runs this part.
+    long summarizeMonths(LocalDate upperBound) {
+        Date bound = Date.valueOf(upperBound);
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cloud_costs WHERE start_date < ?", Long.class, bound);
+        jdbcTemplate.update("INSERT INTO cloud_costs_monthly "
+                + "(user_id, usage_month, service_id, region_id, usage_type_id, cost, day_count) "
+                + "SELECT user_id, DATE_SUB(start_date, INTERVAL DAYOFMONTH(start_date) - 1 DAY), "
+                + "service_id, region_id, usage_type_id, SUM(cost), COUNT(DISTINCT start_date) "
+                + "FROM cloud_costs WHERE start_date < ? "
+                + "GROUP BY user_id, DATE_SUB(start_date, INTERVAL DAYOFMONTH(start_date) - 1 DAY), "
+                + "service_id, region_id, usage_type_id "
+                + "ON DUPLICATE KEY UPDATE cost = cloud_costs_monthly.cost + VALUES(cost), "
+                + "day_count = cloud_costs_monthly.day_count + VALUES(day_count)", bound);
+        return rows;
+    }
+
+    // In partition order; empty when the table is not partitioned
+    private List<Partition> loadPartitions() {
+        return jdbcTemplate.query("SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'cloud_costs' AND PARTITION_NAME IS NOT NULL "
+                        + "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> {
+                    // RANGE COLUMNS bounds come back quoted, e.g. '2024-02-01'
+                    String description = rs.getString("PARTITION_DESCRIPTION").replace("'", "");
+                    LocalDate upperBound = "MAXVALUE".equals(description) ? null : LocalDate.parse(description);
+                    return new Partition(rs.getString("PARTITION_NAME"), upperBound);
+                });
+    }
+
+    private static final class Partition {
+        private final String name;
+        private final LocalDate upperBound; // Exclusive; null for MAXVALUE
+
+        private Partition(String name, LocalDate upperBound) {
+            this.name = name;
+            this.upperBound = upperBound;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.tracker.service;
+
+import com.example.tracker.dto.CostTrendPointDTO;
+import com.example.tracker.dto.ServiceCostTotal;
+import com.example.tracker.repository.DailyServiceCostRepository;
+import com.example.tracker.repository.DimensionCache;
+import com.example.tracker.repository.MonthlyServiceRegionCostRepository;
+import com.example.tracker.repository.UserCostAggregateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Maintains the daily and monthly rollup tables. Every write path refreshes only the days (and
+// their months) it touched, so reads scale with the number of groups rather than raw rows.
+@Service
+public class CostRollupService {
+
+    @Autowired
+    private DailyServiceCostRepository dailyServiceCostRepository;
+
+    @Autowired
+    private MonthlyServiceRegionCostRepository monthlyServiceRegionCostRepository;
+
+    @Autowired
+    private UserCostAggregateRepository userCostAggregateRepository;
+
+    @Autowired
+    private DimensionCache dimensionCache;
+
+    // Annotated itself because the call to refresh() below does not go through the proxy
+    @Transactional
+    public void refreshDay(Long userId, LocalDate day) {
+        if (day != null) {
+            refresh(userId, day, day.plusDays(1));
+        }
+    }
+
+    // Rebuilds the rollups for [startDate, endDate) from cloud_costs
+    @Transactional
+    public void refresh(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (!startDate.isBefore(endDate)) {
+            return;
+        }
+        // Days the recommendation job already folded in are about to change; hand them back to it
+        userCostAggregateRepository.rewind(userId, startDate);
+
+        dailyServiceCostRepository.deleteRange(userId, startDate, endDate);
+        dailyServiceCostRepository.rebuildRange(userId, startDate, endDate);
+
+        LocalDate startMonth = startDate.withDayOfMonth(1);
+        LocalDate endMonth = endDate.minusDays(1).withDayOfMonth(1).plusMonths(1);
+        monthlyServiceRegionCostRepository.deleteRange(userId, startMonth, endMonth);
+        monthlyServiceRegionCostRepository.rebuildRange(userId, startMonth, endMonth);
+    }
+
+    public Map<String, Double> sumCostByService(Long userId, LocalDate from, LocalDate to) {
+        Map<String, Double> totals = new LinkedHashMap<>();
+        for (ServiceCostTotal total : dailyServiceCostRepository.sumCostByService(userId, from, to)) {
+            totals.put(dimensionCache.serviceName(total.getServiceId()), total.getTotalCost());
+        }
+        return totals;
+    }
+
+    public List<CostTrendPointDTO> getDailyTrend(Long userId, LocalDate from, LocalDate to) {
+        return dailyServiceCostRepository.findTrend(userId, from, to).stream()
+                .map(day -> new CostTrendPointDTO(day.getUsageDate(),
+                        dimensionCache.serviceName(day.getServiceId()), null, day.getTotalCost()))
+                .collect(Collectors.toList());
+    }
+
+    public List<CostTrendPointDTO> getMonthlyTrend(Long userId, LocalDate from, LocalDate to) {
+        LocalDate startMonth = from != null ? from.withDayOfMonth(1) : null;
+        LocalDate endMonth = to != null ? to.withDayOfMonth(1) : null;
+        return monthlyServiceRegionCostRepository.findTrend(userId, startMonth, endMonth).stream()
+                .map(month -> new CostTrendPointDTO(month.getUsageMonth(),
+                        dimensionCache.serviceName(month.getServiceId()), dimensionCache.regionName(month.getRegionId()),
+                        month.getTotalCost()))
+                .collect(Collectors.toList());
+    }
+}
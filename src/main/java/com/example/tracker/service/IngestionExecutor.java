@@ -0,0 +1,91 @@
+package com.example.tracker.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+// Fans ingestion work out on virtual threads. The global cap bounds in-flight AWS calls and the
+// per-account cap keeps one AWS account (several users can share one) from being hammered.
+@Service
+public class IngestionExecutor {
+
+    @Value("${ingestion.max-concurrency:32}")
+    private int maxConcurrency;
+
+    @Value("${ingestion.max-concurrency-per-account:2}")
+    private int maxConcurrencyPerAccount;
+
+    @FunctionalInterface
+    public interface IngestionTask<T> {
+        // Returns the number of rows ingested for the item
+        int ingest(T item) throws Exception;
+    }
+
+    public <T> List<IngestionResult<T>> execute(Collection<T> items, Function<T, String> accountKey, IngestionTask<T> task) {
+        Semaphore globalPermits = new Semaphore(maxConcurrency);
+        Map<String, Semaphore> accountPermits = new ConcurrentHashMap<>();
+        List<Future<IngestionResult<T>>> futures = new ArrayList<>(items.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (T item : items) {
+                Semaphore permits = accountPermits.computeIfAbsent(accountKey.apply(item),
+                        key -> new Semaphore(maxConcurrencyPerAccount));
+                futures.add(executor.submit(() -> runOne(item, task, globalPermits, permits)));
+            }
+        } // close() waits for every submitted task to finish
+
+        List<IngestionResult<T>> results = new ArrayList<>(futures.size());
+        for (Future<IngestionResult<T>> future : futures) {
+            results.add(future.resultNow());
+        }
+        return results;
+    }
+
+    private <T> IngestionResult<T> runOne(T item, IngestionTask<T> task, Semaphore globalPermits, Semaphore accountPermits) {
+        long start = System.nanoTime();
+        try {
+            // Take the account permit first so tasks queued behind a busy account don't hold global permits
+            accountPermits.acquire();
+            try {
+                globalPermits.acquire();
+                try {
+                    start = System.nanoTime();
+                    int rows = task.ingest(item);
+                    return IngestionResult.success(item, rows, elapsedMillis(start));
+                } finally {
+                    globalPermits.release();
+                }
+            } finally {
+                accountPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return IngestionResult.failure(item, e, elapsedMillis(start));
+        } catch (Exception e) {
+            return IngestionResult.failure(item, e, elapsedMillis(start));
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    // arn:aws:iam::123456789012:role/Name -> 123456789012
+    public static String awsAccountId(String roleArn) {
+        if (roleArn == null) {
+            return "";
+        }
+        String[] parts = roleArn.split(":");
+        return parts.length > 4 && !parts[4].isEmpty() ? parts[4] : roleArn;
+    }
+}
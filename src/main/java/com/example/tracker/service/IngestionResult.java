@@ -0,0 +1,51 @@
+package com.example.tracker.service;
+
+public class IngestionResult<T> {
+
+    private final T item;
+    private final boolean success;
+    private final int rowCount;
+    private final Exception error;
+    private final long durationMillis;
+
+    private IngestionResult(T item, boolean success, int rowCount, Exception error, long durationMillis) {
+        this.item = item;
+        this.success = success;
+        this.rowCount = rowCount;
+        this.error = error;
+        this.durationMillis = durationMillis;
+    }
+
+    public static <T> IngestionResult<T> success(T item, int rowCount, long durationMillis) {
+        return new IngestionResult<>(item, true, rowCount, null, durationMillis);
+    }
+
+    public static <T> IngestionResult<T> failure(T item, Exception error, long durationMillis) {
+        return new IngestionResult<>(item, false, 0, error, durationMillis);
+    }
+
+    // Getters
+    public T getItem() {
+        return item;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public Exception getError() {
+        return error;
+    }
+
+    public String getErrorMessage() {
+        return error != null ? error.getMessage() : null;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+}
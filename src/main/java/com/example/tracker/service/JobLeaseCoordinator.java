@@ -0,0 +1,224 @@
+package com.example.tracker.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Splits scheduled jobs across every node that runs the application. Tenants are divided into
+// cluster.shards shards (MOD(user id, shards)) and each shard of a job run is claimed by exactly
+// one node through a conditional UPDATE on job_leases. While a node works on a shard it renews the
+// lease; if the node dies the lease expires and the next takeover sweep on any live node picks the
+// shard up. All lease times come from the database clock, so node clock skew doesn't matter.
+@Service
+public class JobLeaseCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(JobLeaseCoordinator.class);
+
+    @Value("${cluster.shards:16}")
+    private int shards;
+
+    @Value("${cluster.lease-seconds:120}")
+    private int leaseSeconds;
+
+    @Value("${cluster.node-id:}")
+    private String configuredNodeId;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public interface ShardedJob {
+        // runDate is the day the run was triggered for, even when a shard is taken over later
+        void runShard(int shard, int shardCount, LocalDate runDate);
+    }
+
+    private final Map<String, ShardedJob> jobs = new ConcurrentHashMap<>();
+    private final Set<String> drainingJobs = ConcurrentHashMap.newKeySet();
+    private final Set<Lease> heldLeases = ConcurrentHashMap.newKeySet();
+
+    // Renewal runs on its own thread so long shards keep their lease while the scheduler is busy
+    private final ScheduledExecutorService renewer =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("lease-renewer").factory());
+
+    private String nodeId;
+
+    @PostConstruct
+    public void init() {
+        if (shards < 1) {
+            throw new IllegalStateException("cluster.shards must be at least 1");
+        }
+        nodeId = configuredNodeId.isEmpty() ? UUID.randomUUID().toString() : configuredNodeId;
+        long renewSeconds = Math.max(1, leaseSeconds / 3);
+        renewer.scheduleWithFixedDelay(this::renewLeases, renewSeconds, renewSeconds, TimeUnit.SECONDS);
+    }
+
+    public void register(String jobName, ShardedJob job) {
+        jobs.put(jobName, job);
+        for (int shard = 0; shard < shards; shard++) {
+            jdbcTemplate.update("INSERT IGNORE INTO job_leases (job_name, shard) VALUES (?, ?)", jobName, shard);
+        }
+    }
+
+    // Called by every node at the job's cron time: marks the run as requested (idempotent across
+    // nodes) and then works through whatever shards this node manages to claim
+    public void trigger(String jobName, LocalDate runDate) {
+        jdbcTemplate.update("UPDATE job_leases SET requested_run = ? WHERE job_name = ? AND shard < ?"
+                        + " AND (requested_run IS NULL OR requested_run < ?)",
+                Date.valueOf(runDate), jobName, shards, Date.valueOf(runDate));
+        drain(jobName);
+    }
+
+    // Picks up shards whose run was requested but whose owner stopped renewing before completing it
+    @Scheduled(fixedDelayString = "${cluster.takeover-interval-millis:60000}")
+    public void takeOverExpiredShards() {
+        for (String jobName : jobs.keySet()) {
+            drain(jobName);
+        }
+    }
+
+    // Single-owner lock for work that isn't sharded by tenant (e.g. one backfill job)
+    public boolean tryAcquire(String name, long key) {
+        jdbcTemplate.update("INSERT IGNORE INTO job_leases (job_name, shard) VALUES (?, ?)", name, key);
+        if (claim(name, key, "")) {
+            heldLeases.add(new Lease(name, key));
+            return true;
+        }
+        return false;
+    }
+
+    public void release(String name, long key) {
+        heldLeases.remove(new Lease(name, key));
+        jdbcTemplate.update("UPDATE job_leases SET owner = NULL, lease_until = NULL WHERE job_name = ? AND shard = ? AND owner = ?",
+                name, key, nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void drain(String jobName) {
+        ShardedJob job = jobs.get(jobName);
+        if (job == null || !drainingJobs.add(jobName)) {
+            return; // Unknown job, or this node is already working through it
+        }
+        try {
+            for (int shard : pendingShards(jobName)) {
+                if (!claim(jobName, shard, " AND requested_run IS NOT NULL"
+                        + " AND (completed_run IS NULL OR completed_run < requested_run)")) {
+                    continue; // Another node got there first
+                }
+                Lease lease = new Lease(jobName, shard);
+                heldLeases.add(lease);
+                try {
+                    LocalDate runDate = jdbcTemplate.queryForObject(
+                            "SELECT requested_run FROM job_leases WHERE job_name = ? AND shard = ?",
+                            Date.class, jobName, shard).toLocalDate();
+                    long start = System.currentTimeMillis();
+                    job.runShard(shard, shards, runDate);
+                    heldLeases.remove(lease);
+                    int updated = jdbcTemplate.update("UPDATE job_leases SET completed_run = ?, owner = NULL, lease_until = NULL"
+                            + " WHERE job_name = ? AND shard = ? AND owner = ?", Date.valueOf(runDate), jobName, shard, nodeId);
+                    if (updated == 0) {
+                        log.warn("Lost lease on {} shard {} before it completed; it will run again", jobName, shard);
+                    } else {
+                        log.info("Node {} finished {} shard {} for {} in {} ms", nodeId, jobName, shard, runDate,
+                                System.currentTimeMillis() - start);
+                    }
+                } catch (RuntimeException e) {
+                    // Leave the run requested so the next sweep (on any node) retries the shard
+                    log.error("Job {} shard {} failed on node {}", jobName, shard, nodeId, e);
+                    release(jobName, shard);
+                }
+            }
+        } finally {
+            drainingJobs.remove(jobName);
+        }
+    }
+
+    // Shards with an open run and no live owner, rotated so that nodes start claiming at different shards
+    private List<Integer> pendingShards(String jobName) {
+        List<Integer> pending = new ArrayList<>(jdbcTemplate.queryForList(
+                "SELECT shard FROM job_leases WHERE job_name = ? AND shard < ? AND requested_run IS NOT NULL"
+                        + " AND (completed_run IS NULL OR completed_run < requested_run)"
+                        + " AND (owner IS NULL OR lease_until < CURRENT_TIMESTAMP(3)) ORDER BY shard",
+                Integer.class, jobName, shards));
+        if (!pending.isEmpty()) {
+            Collections.rotate(pending, Math.floorMod(nodeId.hashCode(), pending.size()));
+        }
+        return pending;
+    }
+
+    // The lease is only taken when it is free or expired, so at most one UPDATE wins
+    private boolean claim(String name, long key, String extraCondition) {
+        return jdbcTemplate.update("UPDATE job_leases SET owner = ?, lease_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3))"
+                        + " WHERE job_name = ? AND shard = ? AND (owner IS NULL OR owner = ? OR lease_until < CURRENT_TIMESTAMP(3))" + extraCondition,
+                nodeId, leaseSeconds, name, key, nodeId) == 1;
+    }
+
+    private void renewLeases() {
+        for (Lease lease : heldLeases) {
+            try {
+                int updated = jdbcTemplate.update("UPDATE job_leases SET lease_until = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3))"
+                        + " WHERE job_name = ? AND shard = ? AND owner = ?", leaseSeconds, lease.name, lease.key, nodeId);
+                if (updated == 0) {
+                    heldLeases.remove(lease);
+                    log.warn("Lease on {} {} was taken over by another node", lease.name, lease.key);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Lease renewal failed for {} {}", lease.name, lease.key, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+        // Hand unfinished work to the other nodes right away instead of after the lease expires
+        for (Lease lease : heldLeases) {
+            try {
+                release(lease.name, lease.key);
+            } catch (RuntimeException e) {
+                log.warn("Could not release lease on {} {}", lease.name, lease.key, e);
+            }
+        }
+    }
+
+    private static final class Lease {
+        private final String name;
+        private final long key;
+
+        private Lease(String name, long key) {
+            this.name = name;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Lease other && name.equals(other.name) && key == other.key;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, key);
+        }
+    }
+}
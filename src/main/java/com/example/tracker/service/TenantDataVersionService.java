@@ -0,0 +1,55 @@
+package com.example.tracker.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// A counter per tenant that moves on every write to the tenant's costs or recommendations. Read
+// endpoints use it as their ETag, so a poll with a matching If-None-Match is answered with 304
+// after one primary-key lookup instead of running the query. The counter lives in the database,
+// so every node agrees on it. Writers bump it in the transaction that changes the data or after
+// it commits; a reader that races with a write can at worst cache the new data under the old
+// version, which the next poll then replaces. The per-node caches (cubes, forecast models) are
+// stamped with the version they were loaded at and reload once it moves, so a write on one node
+// reaches the caches on every other node.
+@Service
+public class TenantDataVersionService {
+
+    // Clients may keep a copy but must revalidate it on every use
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public long currentVersion(Long userId) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM tenant_data_versions WHERE user_id = ?", Long.class, userId);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    // Returns the new version. The read joins the update's transaction, and the row stays locked
+    // until it commits, so no other writer can have moved it in between.
+    public long bump(Long userId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.update("INSERT INTO tenant_data_versions (user_id, version) VALUES (?, 1) "
+                    + "ON DUPLICATE KEY UPDATE version = version + 1", userId);
+            return currentVersion(userId);
+        });
+    }
+
+    // Strong ETag for the tenant's current data, for WebRequest.checkNotModified. The user id is part
+    // of it, so a browser shared between two accounts never revalidates one account's response
+    // with the other's version.
+    public String etag(Long userId) {
+        return "\"" + userId + "-" + currentVersion(userId) + "\"";
+    }
+}
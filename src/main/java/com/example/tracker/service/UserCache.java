@@ -0,0 +1,106 @@
+package com.example.tracker.service;
+
+import com.example.tracker.model.User;
+import com.example.tracker.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Bounded, time-limited cache of user rows keyed by username, so authenticating a request does
+// not cost a query every time. Entries hold an immutable snapshot, never the entity itself.
+// Anything that changes a user must call evict().
+@Component
+public class UserCache {
+
+    @Value("${security.user-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${security.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Access-ordered, so the eldest entry is the least recently used one; guarded by this
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    // Bumped by every eviction so a load that raced with one does not put stale data back
+    private long generation;
+
+    public Optional<CachedUser> getByUsername(String username) {
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(username);
+            if (entry != null && entry.expiresAtMillis > now) {
+                return Optional.of(entry.user);
+            }
+            if (entry != null) {
+                entries.remove(username);
+            }
+            loadGeneration = generation;
+        }
+
+        // Load outside the lock; unknown usernames are not cached
+        Optional<CachedUser> loaded = userRepository.findByUsername(username).map(CachedUser::new);
+        loaded.ifPresent(user -> {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(username, new Entry(user, now + ttlSeconds * 1000));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    public synchronized void evict(String username) {
+        generation++;
+        entries.remove(username);
+    }
+
+    private static final class Entry {
+        private final CachedUser user;
+        private final long expiresAtMillis;
+
+        private Entry(CachedUser user, long expiresAtMillis) {
+            this.user = user;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    public static final class CachedUser {
+        private final Long id;
+        private final String username;
+        private final String password;
+        private final String awsIamRoleArn;
+
+        private CachedUser(User user) {
+            this.id = user.getId();
+            this.username = user.getUsername();
+            this.password = user.getPassword();
+            this.awsIamRoleArn = user.getAwsIamRoleArn();
+        }
+
+        public Long getId() {
+            return id;
+        }
+        public String getUsername() {
+            return username;
+        }
+        public String getPassword() {
+            return password;
+        }
+        public String getAwsIamRoleArn() {
+            return awsIamRoleArn;
+        }
+    }
+}
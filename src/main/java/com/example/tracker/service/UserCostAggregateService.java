@@ -0,0 +1,69 @@
+package com.example.tracker.service;
+
+import com.example.tracker.model.Recommendation;
+import com.example.tracker.model.RecommendationType;
+import com.example.tracker.model.User;
+import com.example.tracker.model.UserCostAggregate;
+import com.example.tracker.repository.DailyServiceCostRepository;
+import com.example.tracker.repository.RecommendationRepository;
+import com.example.tracker.repository.UserCostAggregateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+// Keeps each user's running cost total for CostOptimizationService. A bean of its own so the
+// update goes through the transactional proxy when called from the recommendation job.
+@Service
+public class UserCostAggregateService {
+
+    private static final double HIGH_COST_THRESHOLD = 1000; // Arbitrary threshold for high cost
+
+    @Autowired
+    private DailyServiceCostRepository dailyServiceCostRepository;
+
+    @Autowired
+    private RecommendationRepository recommendationRepository;
+
+    @Autowired
+    private UserCostAggregateRepository userCostAggregateRepository;
+
+    @Autowired
+    private TenantDataVersionService tenantDataVersionService;
+
+    // Folds the days after the user's watermark into the running total, read from the daily rollup,
+    // so each run costs as much as the new days rather than the whole history. The aggregate, its
+    // alert and the data version commit together: a failed version check rolls all of them back and
+    // the next run retries, and an alert flag is never stored without its recommendation.
+    @Transactional
+    public void update(User user, LocalDate through) {
+        UserCostAggregate aggregate = userCostAggregateRepository.findById(user.getId())
+                .orElseGet(() -> new UserCostAggregate(user.getId()));
+        LocalDate processedThrough = aggregate.getProcessedThrough();
+        if (processedThrough != null && !processedThrough.isBefore(through)) {
+            return;
+        }
+        LocalDate from = processedThrough != null ? processedThrough.plusDays(1) : null;
+        aggregate.setTotalCost(aggregate.getTotalCost() + dailyServiceCostRepository.sumCost(user.getId(), from, through));
+        aggregate.setProcessedThrough(through);
+
+        boolean raiseAlert = aggregate.getTotalCost() > HIGH_COST_THRESHOLD && !aggregate.isHighCostAlertRaised();
+        if (raiseAlert) {
+            aggregate.setHighCostAlertRaised(true);
+        }
+        userCostAggregateRepository.save(aggregate);
+
+        if (raiseAlert) {
+            Recommendation recommendation = new Recommendation(
+                    user,
+                    RecommendationType.HIGH_COST_ALERT,
+                    "Your total cloud spending is high. Review your services for potential optimizations.",
+                    null, // No specific savings estimate for this general alert
+                    LocalDate.now()
+            );
+            recommendationRepository.save(recommendation);
+            tenantDataVersionService.bump(user.getId());
+        }
+    }
+}
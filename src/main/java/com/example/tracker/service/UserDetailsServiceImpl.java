@@ -1,7 +1,6 @@
 package com.example.tracker.service;
 
-import com.example.tracker.model.User;
-import com.example.tracker.repository.UserRepository;
+import com.example.tracker.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -14,13 +13,14 @@ import java.util.ArrayList;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Autowired
-    private UserRepository userRepository;
+    private UserCache userCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        UserCache.CachedUser user = userCache.getByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        return new org.springframework.security.core.userdetails.User(user.getUsername(), user.getPassword(), new ArrayList<>());
+        // A new principal per call: Spring Security erases credentials on it after authentication
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), new ArrayList<>());
     }
 }
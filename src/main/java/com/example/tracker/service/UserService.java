@@ -16,6 +16,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserCache userCache;
+
     public User registerNewUser(UserRegistrationDTO registrationDTO) {
         if (userRepository.findByUsername(registrationDTO.getUsername()).isPresent()) {
             throw new IllegalArgumentException("Username already exists");
@@ -26,6 +29,8 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(registrationDTO.getPassword()));
         user.setAwsIamRoleArn(registrationDTO.getAwsIamRoleArn());
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userCache.evict(savedUser.getUsername());
+        return savedUser;
     }
 }
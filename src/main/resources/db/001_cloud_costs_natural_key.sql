@@ -0,0 +1,17 @@
+-- Natural key for ingested cost rows so nightly re-runs and backfills overwrite instead of duplicating.
+-- Shrinks service_name/region so the composite key fits InnoDB's 3072-byte index limit with utf8mb4.
+
+-- Keep the newest copy of any rows that were already duplicated
+DELETE older FROM cloud_costs older
+JOIN cloud_costs newer
+  ON older.user_id = newer.user_id
+ AND older.service_name <=> newer.service_name
+ AND older.region <=> newer.region
+ AND older.usage_type <=> newer.usage_type
+ AND older.start_date <=> newer.start_date
+ AND older.id < newer.id;
+
+ALTER TABLE cloud_costs
+    MODIFY service_name VARCHAR(128),
+    MODIFY region VARCHAR(64),
+    ADD CONSTRAINT uk_cloud_costs_natural_key UNIQUE (user_id, service_name, region, usage_type, start_date);
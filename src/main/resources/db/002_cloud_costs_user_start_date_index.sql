@@ -0,0 +1,2 @@
+-- Supports per-user date-range scans such as the grouped summary query
+CREATE INDEX idx_cloud_costs_user_start_date ON cloud_costs (user_id, start_date);
@@ -0,0 +1,35 @@
+-- Rollup tables maintained by CostRollupService on every cost write
+
+CREATE TABLE daily_service_costs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    usage_date DATE NOT NULL,
+    service_name VARCHAR(128),
+    total_cost DOUBLE NOT NULL,
+    CONSTRAINT uk_daily_service_costs UNIQUE (user_id, usage_date, service_name),
+    CONSTRAINT fk_daily_service_costs_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE monthly_service_region_costs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    usage_month DATE NOT NULL,
+    service_name VARCHAR(128),
+    region VARCHAR(64),
+    total_cost DOUBLE NOT NULL,
+    CONSTRAINT uk_monthly_service_region_costs UNIQUE (user_id, usage_month, service_name, region),
+    CONSTRAINT fk_monthly_service_region_costs_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Seed both rollups from the existing rows
+INSERT INTO daily_service_costs (user_id, usage_date, service_name, total_cost)
+SELECT user_id, start_date, service_name, SUM(cost)
+FROM cloud_costs
+WHERE start_date IS NOT NULL
+GROUP BY user_id, start_date, service_name;
+
+INSERT INTO monthly_service_region_costs (user_id, usage_month, service_name, region, total_cost)
+SELECT user_id, DATE_SUB(start_date, INTERVAL DAYOFMONTH(start_date) - 1 DAY), service_name, region, SUM(cost)
+FROM cloud_costs
+WHERE start_date IS NOT NULL
+GROUP BY user_id, DATE_SUB(start_date, INTERVAL DAYOFMONTH(start_date) - 1 DAY), service_name, region;
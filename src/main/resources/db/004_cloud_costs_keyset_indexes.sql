@@ -0,0 +1,6 @@
+-- Composite indexes for the keyset-paginated listing. Each filter column is followed by start_date
+-- (and implicitly the primary key id), so every page is a bounded range scan in (start_date, id) order.
+-- The unfiltered listing uses idx_cloud_costs_user_start_date from 002.
+CREATE INDEX idx_cloud_costs_user_service_start_date ON cloud_costs (user_id, service_name, start_date);
+CREATE INDEX idx_cloud_costs_user_region_start_date ON cloud_costs (user_id, region, start_date);
+CREATE INDEX idx_cloud_costs_user_usage_type_start_date ON cloud_costs (user_id, usage_type, start_date);
@@ -0,0 +1,89 @@
+-- Moves service, region and usage type out of cloud_costs into dimension tables with integer
+-- surrogate ids. cloud_costs and both rollups keep only the ids; DimensionCache maps them back.
+
+CREATE TABLE dim_services (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(128) NOT NULL,
+    CONSTRAINT uk_dim_services_name UNIQUE (name)
+);
+
+CREATE TABLE dim_regions (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(64) NOT NULL,
+    CONSTRAINT uk_dim_regions_name UNIQUE (name)
+);
+
+CREATE TABLE dim_usage_types (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_dim_usage_types_name UNIQUE (name)
+);
+
+INSERT INTO dim_services (name) SELECT DISTINCT service_name FROM cloud_costs WHERE service_name IS NOT NULL;
+INSERT INTO dim_regions (name) SELECT DISTINCT region FROM cloud_costs WHERE region IS NOT NULL;
+INSERT INTO dim_usage_types (name) SELECT DISTINCT usage_type FROM cloud_costs WHERE usage_type IS NOT NULL;
+
+-- cloud_costs: add the id columns, fill them, then swap the natural key and indexes over
+ALTER TABLE cloud_costs
+    ADD COLUMN service_id INT NULL,
+    ADD COLUMN region_id INT NULL,
+    ADD COLUMN usage_type_id INT NULL;
+
+UPDATE cloud_costs c
+    LEFT JOIN dim_services s ON s.name = c.service_name
+    LEFT JOIN dim_regions r ON r.name = c.region
+    LEFT JOIN dim_usage_types u ON u.name = c.usage_type
+SET c.service_id = s.id, c.region_id = r.id, c.usage_type_id = u.id;
+
+ALTER TABLE cloud_costs
+    DROP INDEX uk_cloud_costs_natural_key,
+    DROP INDEX idx_cloud_costs_user_service_start_date,
+    DROP INDEX idx_cloud_costs_user_region_start_date,
+    DROP INDEX idx_cloud_costs_user_usage_type_start_date,
+    DROP COLUMN service_name,
+    DROP COLUMN region,
+    DROP COLUMN usage_type,
+    ADD CONSTRAINT uk_cloud_costs_natural_key UNIQUE (user_id, service_id, region_id, usage_type_id, start_date),
+    ADD INDEX idx_cloud_costs_user_service_start_date (user_id, service_id, start_date),
+    ADD INDEX idx_cloud_costs_user_region_start_date (user_id, region_id, start_date),
+    ADD INDEX idx_cloud_costs_user_usage_type_start_date (user_id, usage_type_id, start_date),
+    ADD CONSTRAINT fk_cloud_costs_service FOREIGN KEY (service_id) REFERENCES dim_services (id),
+    ADD CONSTRAINT fk_cloud_costs_region FOREIGN KEY (region_id) REFERENCES dim_regions (id),
+    ADD CONSTRAINT fk_cloud_costs_usage_type FOREIGN KEY (usage_type_id) REFERENCES dim_usage_types (id);
+
+-- Rollups are derived data, so rebuild them keyed by id rather than migrating in place
+DROP TABLE daily_service_costs;
+DROP TABLE monthly_service_region_costs;
+
+CREATE TABLE daily_service_costs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    usage_date DATE NOT NULL,
+    service_id INT,
+    total_cost DOUBLE NOT NULL,
+    CONSTRAINT uk_daily_service_costs UNIQUE (user_id, usage_date, service_id),
+    CONSTRAINT fk_daily_service_costs_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE monthly_service_region_costs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    usage_month DATE NOT NULL,
+    service_id INT,
+    region_id INT,
+    total_cost DOUBLE NOT NULL,
+    CONSTRAINT uk_monthly_service_region_costs UNIQUE (user_id, usage_month, service_id, region_id),
+    CONSTRAINT fk_monthly_service_region_costs_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+INSERT INTO daily_service_costs (user_id, usage_date, service_id, total_cost)
+SELECT user_id, start_date, service_id, SUM(cost)
+FROM cloud_costs
+WHERE start_date IS NOT NULL
+GROUP BY user_id, start_date, service_id;
+
+INSERT INTO monthly_service_region_costs (user_id, usage_month, service_id, region_id, total_cost)
+SELECT user_id, DATE_SUB(start_date, INTERVAL DAYOFMONTH(start_date) - 1 DAY), service_id, region_id, SUM(cost)
+FROM cloud_costs
+WHERE start_date IS NOT NULL
+GROUP BY user_id, DATE_SUB(start_date, INTERVAL DAYOFMONTH(start_date) - 1 DAY), service_id, region_id;
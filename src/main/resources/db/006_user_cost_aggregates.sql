@@ -0,0 +1,23 @@
+-- Running per-user totals for the incremental recommendation job (CostOptimizationService)
+
+CREATE TABLE user_cost_aggregates (
+    user_id BIGINT PRIMARY KEY,
+    total_cost DOUBLE NOT NULL,
+    processed_through DATE NULL,
+    high_cost_alert_raised BIT NOT NULL,
+    version BIGINT NOT NULL,
+    CONSTRAINT fk_user_cost_aggregates_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- The old job saved a new "High Cost Alert" every night; keep only the first one per user
+DELETE r FROM recommendations r
+    JOIN recommendations earlier
+        ON earlier.user_id = r.user_id AND earlier.type = r.type AND earlier.id < r.id
+WHERE r.type = 'High Cost Alert';
+
+-- Users who already have an alert must not get another one. processed_through stays NULL, so the
+-- first run folds in their whole history from daily_service_costs once.
+INSERT INTO user_cost_aggregates (user_id, total_cost, processed_through, high_cost_alert_raised, version)
+SELECT DISTINCT user_id, 0, NULL, 1, 0
+FROM recommendations
+WHERE type = 'High Cost Alert';
@@ -0,0 +1,13 @@
+-- Per (user, service) state of the streaming anomaly detector (CostAnomalyDetector)
+
+CREATE TABLE cost_anomaly_states (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    service_id INT,
+    last_date DATE,
+    mean DOUBLE NOT NULL,
+    variance DOUBLE NOT NULL,
+    observations INT NOT NULL,
+    CONSTRAINT uk_cost_anomaly_states UNIQUE (user_id, service_id),
+    CONSTRAINT fk_cost_anomaly_states_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,15 @@
+-- Fitted Holt-Winters parameters per (user, service), written by CostForecastService
+
+CREATE TABLE cost_forecast_models (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    service_id INT,
+    fitted_through DATE NOT NULL,
+    level DOUBLE NOT NULL,
+    trend DOUBLE NOT NULL,
+    seasonal VARCHAR(255) NOT NULL,
+    forecast_month DATE NOT NULL,
+    month_to_date_cost DOUBLE NOT NULL,
+    CONSTRAINT uk_cost_forecast_models UNIQUE (user_id, service_id),
+    CONSTRAINT fk_cost_forecast_models_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,28 @@
+-- Resumable historical backfills (BackfillService). Each completed chunk is a checkpoint.
+
+CREATE TABLE backfill_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    finished_at DATETIME(6),
+    CONSTRAINT fk_backfill_jobs_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_backfill_jobs_status ON backfill_jobs (status);
+
+CREATE TABLE backfill_chunks (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL,
+    row_count INT NOT NULL,
+    last_error VARCHAR(1000),
+    completed_at DATETIME(6),
+    CONSTRAINT uk_backfill_chunks_job_start UNIQUE (job_id, start_date),
+    CONSTRAINT fk_backfill_chunks_job FOREIGN KEY (job_id) REFERENCES backfill_jobs (id)
+);
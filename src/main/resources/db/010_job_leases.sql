@@ -0,0 +1,13 @@
+-- Leases that split scheduled jobs across application nodes (JobLeaseCoordinator).
+-- One row per (job, shard); users belong to shard MOD(id, cluster.shards). Rows are created by
+-- the application on startup. lease_until is compared against the database clock only.
+
+CREATE TABLE job_leases (
+    job_name VARCHAR(64) NOT NULL,
+    shard BIGINT NOT NULL,
+    owner VARCHAR(128),
+    lease_until DATETIME(3),
+    requested_run DATE,
+    completed_run DATE,
+    PRIMARY KEY (job_name, shard)
+);
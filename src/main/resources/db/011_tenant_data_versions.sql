@@ -0,0 +1,8 @@
+-- Per-tenant data version behind the ETags on the read endpoints (TenantDataVersionService).
+-- Rows are created on a tenant's first write; a missing row means version 0.
+
+CREATE TABLE tenant_data_versions (
+    user_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL,
+    CONSTRAINT fk_tenant_data_versions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
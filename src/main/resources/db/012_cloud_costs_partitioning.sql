@@ -0,0 +1,57 @@
+-- Partitions cloud_costs by month of start_date (CostPartitionService). MySQL requires the
+-- partitioning column in every unique key and does not allow foreign keys on partitioned tables,
+-- so the primary key becomes (id, start_date), start_date becomes NOT NULL and the foreign keys
+-- are dropped (ownership and dimension ids are written by the application only).
+--
+-- The table starts with a single MAXVALUE partition. The first maintenance run splits it into
+-- monthly partitions, which rewrites the table once; run it off-peak on large installations.
+
+-- Foreign keys: the user FK was created by Hibernate under a generated name, so drop them all
+SET @drop_fks = (
+    SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`'))
+    FROM information_schema.TABLE_CONSTRAINTS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'cloud_costs' AND CONSTRAINT_TYPE = 'FOREIGN KEY'
+);
+SET @sql = IF(@drop_fks IS NULL, 'DO 0', CONCAT('ALTER TABLE cloud_costs ', @drop_fks));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Undated rows get the day before their end date, or 1970-01-01 (the oldest partition) if neither is set
+UPDATE cloud_costs
+SET start_date = COALESCE(DATE_SUB(end_date, INTERVAL 1 DAY), '1970-01-01')
+WHERE start_date IS NULL;
+
+ALTER TABLE cloud_costs
+    MODIFY start_date DATE NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, start_date);
+
+ALTER TABLE cloud_costs
+    PARTITION BY RANGE COLUMNS (start_date) (
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
+
+-- Daily rows of dropped partitions, collapsed to one row per month and natural key
+CREATE TABLE cloud_costs_monthly (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    usage_month DATE NOT NULL,
+    service_id INT,
+    region_id INT,
+    usage_type_id INT,
+    cost DOUBLE NOT NULL,
+    day_count INT NOT NULL,
+    CONSTRAINT uk_cloud_costs_monthly UNIQUE (user_id, usage_month, service_id, region_id, usage_type_id),
+    CONSTRAINT fk_cloud_costs_monthly_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- One row per compacted partition. compacted_at is written in the same transaction as the monthly
+-- rows, so a run interrupted before the DROP only drops the partition when it resumes.
+CREATE TABLE cost_partition_compactions (
+    partition_name VARCHAR(64) PRIMARY KEY,
+    range_end DATE NOT NULL,
+    row_count BIGINT NOT NULL,
+    compacted_at DATETIME(6) NOT NULL,
+    dropped_at DATETIME(6)
+);
@@ -0,0 +1,131 @@
+package com.example.tracker.cube;
+
+import com.example.tracker.dto.CostCubeRowDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CostCubeTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2024, 3, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2024, 3, 2);
+    private static final LocalDate DAY_3 = LocalDate.of(2024, 3, 3);
+
+    @Test
+    void addAccumulatesAndPutOverwrites() {
+        CostCube cube = new CostCube();
+        cube.add("AmazonEC2", "us-east-1", "BoxUsage", DAY_1, 10);
+        cube.add("AmazonEC2", "us-east-1", "BoxUsage", DAY_1, 5);
+        assertEquals(15, total(cube, query(EnumSet.noneOf(CubeDimension.class))), 1e-9);
+
+        cube.put("AmazonEC2", "us-east-1", "BoxUsage", DAY_1, 7);
+        assertEquals(7, total(cube, query(EnumSet.noneOf(CubeDimension.class))), 1e-9);
+        assertEquals(1, cube.size());
+    }
+
+    @Test
+    void groupsByServiceSortedByTotalDescending() {
+        CostCube cube = sampleCube();
+
+        List<CostCubeRowDTO> rows = cube.query(query(EnumSet.of(CubeDimension.SERVICE)));
+
+        assertEquals(2, rows.size());
+        assertEquals("AmazonEC2", rows.get(0).getServiceName());
+        assertEquals(60, rows.get(0).getTotalCost(), 1e-9);
+        assertEquals("AmazonS3", rows.get(1).getServiceName());
+        assertEquals(6, rows.get(1).getTotalCost(), 1e-9);
+        assertNull(rows.get(0).getRegion());
+        assertNull(rows.get(0).getDate());
+    }
+
+    @Test
+    void groupsByServiceAndDate() {
+        CostCube cube = sampleCube();
+
+        List<CostCubeRowDTO> rows = cube.query(query(EnumSet.of(CubeDimension.SERVICE, CubeDimension.DATE)));
+
+        assertEquals(6, rows.size());
+        CostCubeRowDTO ec2Day2 = find(rows, "AmazonEC2", DAY_2);
+        assertEquals(30, ec2Day2.getTotalCost(), 1e-9); // Both regions
+        assertEquals(1, find(rows, "AmazonS3", DAY_1).getTotalCost(), 1e-9);
+    }
+
+    @Test
+    void filtersByDimensionAndInclusiveDateRange() {
+        CostCube cube = sampleCube();
+
+        // DAY_2 is included, DAY_3 is not
+        CubeQuery byRegion = new CubeQuery(EnumSet.of(CubeDimension.SERVICE), null, List.of("eu-west-1"), null,
+                DAY_1, DAY_2);
+        List<CostCubeRowDTO> rows = cube.query(byRegion);
+
+        assertEquals(1, rows.size());
+        assertEquals("AmazonEC2", rows.get(0).getServiceName());
+        assertEquals(20, rows.get(0).getTotalCost(), 1e-9);
+    }
+
+    @Test
+    void unknownFilterValueMatchesNothing() {
+        CostCube cube = sampleCube();
+
+        CubeQuery unknown = new CubeQuery(EnumSet.of(CubeDimension.SERVICE), List.of("AmazonRDS"), null, null, null, null);
+
+        assertTrue(cube.query(unknown).isEmpty());
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        CostCube cube = new CostCube(16);
+        for (int i = 0; i < 1_000; i++) {
+            cube.add("AmazonEC2", "us-east-1", "usage-" + i, DAY_1, 1);
+        }
+
+        assertEquals(1_000, cube.size());
+        assertEquals(1_000, cube.query(query(EnumSet.of(CubeDimension.USAGE_TYPE))).size());
+        assertEquals(1_000, total(cube, query(EnumSet.noneOf(CubeDimension.class))), 1e-9);
+    }
+
+    @Test
+    void rejectsDatesItCannotEncode() {
+        CostCube cube = new CostCube();
+
+        assertThrows(IllegalStateException.class,
+                () -> cube.add("AmazonEC2", "us-east-1", "BoxUsage", LocalDate.of(1969, 12, 31), 1));
+    }
+
+    // EC2: 10 + 20 (eu) + 10 (us) on day 2 + 20 (eu) on day 3 = 60; S3: 1 + 2 + 3 = 6
+    private static CostCube sampleCube() {
+        CostCube cube = new CostCube();
+        cube.add("AmazonEC2", "us-east-1", "BoxUsage", DAY_1, 10);
+        cube.add("AmazonEC2", "us-east-1", "BoxUsage", DAY_2, 10);
+        cube.add("AmazonEC2", "eu-west-1", "BoxUsage", DAY_2, 20);
+        cube.add("AmazonEC2", "eu-west-1", "BoxUsage", DAY_3, 20);
+        cube.add("AmazonS3", "us-east-1", "Storage", DAY_1, 1);
+        cube.add("AmazonS3", "us-east-1", "Storage", DAY_2, 2);
+        cube.add("AmazonS3", "us-east-1", "Storage", DAY_3, 3);
+        return cube;
+    }
+
+    private static CubeQuery query(Set<CubeDimension> groupBy) {
+        return new CubeQuery(groupBy, null, null, null, null, null);
+    }
+
+    private static double total(CostCube cube, CubeQuery query) {
+        return cube.query(query).stream().mapToDouble(CostCubeRowDTO::getTotalCost).sum();
+    }
+
+    private static CostCubeRowDTO find(List<CostCubeRowDTO> rows, String serviceName, LocalDate date) {
+        return rows.stream()
+                .filter(row -> serviceName.equals(row.getServiceName()) && date.equals(row.getDate()))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No row for " + serviceName + " on " + date));
+    }
+}
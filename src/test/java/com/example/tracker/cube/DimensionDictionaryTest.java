@@ -0,0 +1,30 @@
+package com.example.tracker.cube;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DimensionDictionaryTest {
+
+    @Test
+    void assignsDenseIdsInFirstSeenOrder() {
+        DimensionDictionary dictionary = new DimensionDictionary();
+        assertEquals(0, dictionary.idOf("AmazonEC2"));
+        assertEquals(1, dictionary.idOf("AmazonS3"));
+        assertEquals(0, dictionary.idOf("AmazonEC2"));
+        assertEquals(2, dictionary.idOf(null));
+
+        assertEquals(3, dictionary.size());
+        assertEquals("AmazonS3", dictionary.valueOf(1));
+    }
+
+    @Test
+    void lookupDoesNotAssignIds() {
+        DimensionDictionary dictionary = new DimensionDictionary();
+        dictionary.idOf("us-east-1");
+
+        assertEquals(0, dictionary.lookup("us-east-1"));
+        assertEquals(-1, dictionary.lookup("eu-west-1"));
+        assertEquals(1, dictionary.size());
+    }
+}
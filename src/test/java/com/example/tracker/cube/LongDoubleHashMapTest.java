@@ -0,0 +1,53 @@
+package com.example.tracker.cube;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LongDoubleHashMapTest {
+
+    @Test
+    void addToAccumulatesPerKey() {
+        LongDoubleHashMap map = new LongDoubleHashMap(4);
+        map.addTo(3, 1.5);
+        map.addTo(3, 2.0);
+        map.addTo(0, 4.0);
+
+        Map<Long, Double> entries = entries(map);
+        assertEquals(2, map.size());
+        assertEquals(3.5, entries.get(3L), 1e-9);
+        assertEquals(4.0, entries.get(0L), 1e-9);
+    }
+
+    @Test
+    void forEachVisitsEveryKeyOnceAcrossResizes() {
+        LongDoubleHashMap map = new LongDoubleHashMap(1);
+        for (int round = 0; round < 2; round++) {
+            for (long key = 0; key < 5_000; key++) {
+                map.addTo(key * 31, key);
+            }
+        }
+
+        Map<Long, Double> entries = entries(map);
+        assertEquals(5_000, map.size());
+        assertEquals(5_000, entries.size());
+        for (long key = 0; key < 5_000; key++) {
+            assertEquals(2.0 * key, entries.get(key * 31), 1e-9);
+        }
+        assertNull(entries.get(1L));
+    }
+
+    private static Map<Long, Double> entries(LongDoubleHashMap map) {
+        Map<Long, Double> entries = new HashMap<>();
+        map.forEach((key, value) -> {
+            if (entries.put(key, value) != null) {
+                throw new AssertionError("Key " + key + " visited twice");
+            }
+        });
+        return entries;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.tracker.cube;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LongIntHashMapTest {
+
+    @Test
+    void returnsMissingValueForAbsentKey() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        assertEquals(-1, map.get(42, -1));
+        map.put(42, 7);
+        assertEquals(-1, map.get(43, -1));
+    }
+
+    @Test
+    void putOverwritesExistingKey() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        map.put(0, 1);
+        map.put(0, 2);
+        assertEquals(2, map.get(0, -1));
+    }
+
+    @Test
+    void probesPastCollidingKeys() {
+        // Keys that land in the same slot of the initial 16-slot table
+        List<Long> colliding = new ArrayList<>();
+        int slot = LongIntHashMap.hash(1) & 15;
+        for (long key = 1; colliding.size() < 4; key++) {
+            if ((LongIntHashMap.hash(key) & 15) == slot) {
+                colliding.add(key);
+            }
+        }
+        LongIntHashMap map = new LongIntHashMap(1);
+        for (int i = 0; i < colliding.size(); i++) {
+            map.put(colliding.get(i), i);
+        }
+        for (int i = 0; i < colliding.size(); i++) {
+            assertEquals(i, map.get(colliding.get(i), -1));
+        }
+    }
+
+    @Test
+    void keepsEveryEntryAcrossResizes() {
+        LongIntHashMap map = new LongIntHashMap(1);
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i * 7919L, i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, map.get(i * 7919L, -1));
+        }
+        assertEquals(-1, map.get(1, -1));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.tracker.fake;
+
+import com.amazonaws.services.costexplorer.AWSCostExplorer;
+import com.amazonaws.services.securitytoken.AWSSecurityTokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+// Replaces the AWS clients from AwsClientConfig with the in-process fakes
+@TestConfiguration
+public class FakeAwsConfig {
+
+    @Bean
+    public FakeAwsSettings fakeAwsSettings(@Value("${fake.aws.groups-per-day:200}") int groupsPerDay,
+                                           @Value("${fake.aws.page-size:500}") int pageSize,
+                                           @Value("${fake.aws.latency-millis:50}") long latencyMillis,
+                                           @Value("${fake.aws.throttle-probability:0.0}") double throttleProbability) {
+        return new FakeAwsSettings(groupsPerDay, pageSize, latencyMillis, throttleProbability);
+    }
+
+    @Bean
+    @Primary
+    public AWSSecurityTokenService fakeStsClient(FakeAwsSettings settings) {
+        return new FakeSecurityTokenService(settings);
+    }
+
+    @Bean
+    @Primary
+    public AWSCostExplorer fakeCostExplorerClient(FakeAwsSettings settings) {
+        return new FakeCostExplorer(settings);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.tracker.fake;
+
+import com.amazonaws.AmazonServiceException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Knobs shared by the fake AWS clients
+public class FakeAwsSettings {
+
+    private final int groupsPerDay;
+    private final int pageSize;
+    private final long latencyMillis;
+    private final double throttleProbability;
+    private final AtomicLong throttled = new AtomicLong();
+
+    public FakeAwsSettings(int groupsPerDay, int pageSize, long latencyMillis, double throttleProbability) {
+        this.groupsPerDay = groupsPerDay;
+        this.pageSize = pageSize;
+        this.latencyMillis = latencyMillis;
+        this.throttleProbability = throttleProbability;
+    }
+
+    void simulateLatency() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            // +/- 50% so calls don't all finish in lockstep
+            Thread.sleep(latencyMillis / 2 + ThreadLocalRandom.current().nextLong(latencyMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during simulated AWS latency", e);
+        }
+    }
+
+    // Fails the call the way AWS rejects a request over its rate limit
+    void maybeThrottle(String errorCode) {
+        if (throttleProbability > 0 && ThreadLocalRandom.current().nextDouble() < throttleProbability) {
+            throttled.incrementAndGet();
+            AmazonServiceException e = new AmazonServiceException("Rate exceeded (simulated)");
+            e.setErrorCode(errorCode);
+            e.setStatusCode(400);
+            e.setErrorType(AmazonServiceException.ErrorType.Client);
+            throw e;
+        }
+    }
+
+    public int getGroupsPerDay() {
+        return groupsPerDay;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public long getThrottled() {
+        return throttled.get();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.tracker.fake;
+
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.amazonaws.services.costexplorer.AbstractAWSCostExplorer;
+import com.amazonaws.services.costexplorer.model.DateInterval;
+import com.amazonaws.services.costexplorer.model.GetCostAndUsageRequest;
+import com.amazonaws.services.costexplorer.model.GetCostAndUsageResult;
+import com.amazonaws.services.costexplorer.model.Group;
+import com.amazonaws.services.costexplorer.model.MetricValue;
+import com.amazonaws.services.costexplorer.model.ResultByTime;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process Cost Explorer. Every day in the requested range has settings.groupsPerDay groups,
+// served settings.pageSize groups per page through NextPageToken. Costs are derived from the
+// role, day and group, so a re-run returns the same data. Like the real client it resolves the
+// request's credentials first, which drives the STS path through AWSCredentialService.
+public class FakeCostExplorer extends AbstractAWSCostExplorer {
+
+    private static final String[] REGIONS = {"us-east-1", "us-west-2", "eu-west-1", "eu-central-1", "ap-southeast-2"};
+
+    private final FakeAwsSettings settings;
+    private final AtomicLong calls = new AtomicLong();
+
+    public FakeCostExplorer(FakeAwsSettings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public GetCostAndUsageResult getCostAndUsage(GetCostAndUsageRequest request) {
+        calls.incrementAndGet();
+        AWSCredentialsProvider credentialsProvider = request.getRequestCredentialsProvider();
+        // The fake access key is derived from the role ARN, so it also seeds this tenant's costs
+        int seed = credentialsProvider == null ? 0 : credentialsProvider.getCredentials().getAWSAccessKeyId().hashCode();
+        settings.simulateLatency();
+        settings.maybeThrottle("LimitExceededException");
+
+        LocalDate start = LocalDate.parse(request.getTimePeriod().getStart());
+        LocalDate end = LocalDate.parse(request.getTimePeriod().getEnd());
+        long totalGroups = ChronoUnit.DAYS.between(start, end) * settings.getGroupsPerDay();
+        long offset = request.getNextPageToken() == null ? 0 : Long.parseLong(request.getNextPageToken());
+        long pageEnd = Math.min(totalGroups, offset + settings.getPageSize());
+
+        List<ResultByTime> results = new ArrayList<>();
+        ResultByTime current = null;
+        for (long index = offset; index < pageEnd; index++) {
+            LocalDate day = start.plusDays(index / settings.getGroupsPerDay());
+            int group = (int) (index % settings.getGroupsPerDay());
+            if (current == null || !current.getTimePeriod().getStart().equals(day.toString())) {
+                current = new ResultByTime()
+                        .withTimePeriod(new DateInterval().withStart(day.toString()).withEnd(day.plusDays(1).toString()))
+                        .withGroups(new ArrayList<>())
+                        .withEstimated(false);
+                results.add(current);
+            }
+            double cost = Math.floorMod(31 * (31 * seed + day.hashCode()) + group, 10_000) / 100.0;
+            current.getGroups().add(new Group()
+                    .withKeys("Service " + group % 40, REGIONS[group % REGIONS.length], "UsageType-" + group)
+                    .withMetrics(Map.of("UnblendedCost", new MetricValue().withAmount(Double.toString(cost)).withUnit("USD"))));
+        }
+        return new GetCostAndUsageResult()
+                .withResultsByTime(results)
+                .withNextPageToken(pageEnd < totalGroups ? Long.toString(pageEnd) : null);
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+}
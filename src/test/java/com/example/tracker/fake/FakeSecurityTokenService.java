@@ -0,0 +1,40 @@
+package com.example.tracker.fake;
+
+import com.amazonaws.services.securitytoken.AbstractAWSSecurityTokenService;
+import com.amazonaws.services.securitytoken.model.AssumeRoleRequest;
+import com.amazonaws.services.securitytoken.model.AssumeRoleResult;
+import com.amazonaws.services.securitytoken.model.Credentials;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process STS: AssumeRole answers with made-up one-hour credentials after the configured latency
+public class FakeSecurityTokenService extends AbstractAWSSecurityTokenService {
+
+    private final FakeAwsSettings settings;
+    private final AtomicLong calls = new AtomicLong();
+
+    public FakeSecurityTokenService(FakeAwsSettings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public AssumeRoleResult assumeRole(AssumeRoleRequest request) {
+        calls.incrementAndGet();
+        settings.simulateLatency();
+        settings.maybeThrottle("ThrottlingException");
+        return new AssumeRoleResult().withCredentials(new Credentials()
+                .withAccessKeyId("ASIAFAKE" + Math.abs(request.getRoleArn().hashCode()))
+                .withSecretAccessKey("fake-secret")
+                .withSessionToken("fake-token-" + request.getRoleSessionName())
+                .withExpiration(new Date(System.currentTimeMillis() + 3_600_000)));
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.tracker.forecast;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HoltWintersTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+
+    private final HoltWinters holtWinters = new HoltWinters(0.3, 0.05, 0.2);
+
+    @Test
+    void constantSeriesForecastsTheConstant() {
+        double[] values = new double[28];
+        Arrays.fill(values, 10);
+
+        SeasonalForecast forecast = holtWinters.fit(MONDAY, values);
+
+        assertEquals(MONDAY.plusDays(27), forecast.getFittedThrough());
+        assertEquals(10, forecast.getLevel(), 1e-9);
+        assertEquals(0, forecast.getTrend(), 1e-9);
+        for (int horizon = 1; horizon <= 14; horizon++) {
+            assertEquals(10, forecast.forecast(forecast.getFittedThrough().plusDays(horizon)), 1e-9);
+        }
+    }
+
+    @Test
+    void weeklyPatternIsCarriedIntoTheForecast() {
+        // 100 on weekdays, 20 at the weekend, for eight weeks
+        double[] values = new double[56];
+        for (int i = 0; i < values.length; i++) {
+            DayOfWeek day = MONDAY.plusDays(i).getDayOfWeek();
+            values[i] = day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? 20 : 100;
+        }
+
+        SeasonalForecast forecast = holtWinters.fit(MONDAY, values);
+
+        LocalDate nextMonday = MONDAY.plusDays(56);
+        assertEquals(100, forecast.forecast(nextMonday), 1e-6);
+        assertEquals(20, forecast.forecast(nextMonday.plusDays(5)), 1e-6);
+        assertEquals(5 * 100 + 2 * 20, forecast.forecastTotal(nextMonday, nextMonday.plusDays(6)), 1e-5);
+    }
+
+    @Test
+    void linearTrendIsExtrapolated() {
+        double[] values = new double[42];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 10 + i;
+        }
+
+        SeasonalForecast forecast = holtWinters.fit(MONDAY, values);
+
+        // Smoothing converges on the slope rather than hitting it exactly
+        assertEquals(1, forecast.getTrend(), 0.05);
+        assertEquals(10 + 41 + 7, forecast.forecast(forecast.getFittedThrough().plusDays(7)), 1.0);
+    }
+
+    @Test
+    void shortSeriesFallsBackToAFlatMean() {
+        double[] values = {4, 8, 6, 2, 10};
+
+        SeasonalForecast forecast = holtWinters.fit(MONDAY, values);
+
+        assertEquals(MONDAY.plusDays(4), forecast.getFittedThrough());
+        assertEquals(6, forecast.getLevel(), 1e-9);
+        assertEquals(0, forecast.getTrend(), 1e-9);
+        assertEquals(6, forecast.forecast(MONDAY.plusDays(5)), 1e-9);
+        assertEquals(6, forecast.forecast(MONDAY.plusDays(11)), 1e-9);
+    }
+
+    @Test
+    void emptySeriesIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> holtWinters.fit(MONDAY, new double[0]));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.tracker.forecast;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SeasonalForecastTest {
+
+    // A Sunday, so the first forecast day is a Monday (seasonal index 0)
+    private static final LocalDate SUNDAY = LocalDate.of(2024, 1, 7);
+
+    @Test
+    void forecastAddsTrendPerDayAndTheDayOfWeekOffset() {
+        double[] seasonal = {5, 0, 0, 0, 0, -3, -4};
+        SeasonalForecast forecast = new SeasonalForecast(SUNDAY, 100, 2, seasonal);
+
+        assertEquals(100 + 2 + 5, forecast.forecast(SUNDAY.plusDays(1)), 1e-9);
+        assertEquals(100 + 6 * 2 - 3, forecast.forecast(SUNDAY.plusDays(6)), 1e-9);
+        assertEquals(100 + 8 * 2 + 5, forecast.forecast(SUNDAY.plusDays(8)), 1e-9);
+    }
+
+    @Test
+    void forecastIsNeverNegative() {
+        SeasonalForecast forecast = new SeasonalForecast(SUNDAY, 10, -5, new double[7]);
+
+        assertEquals(0, forecast.forecast(SUNDAY.plusDays(3)), 1e-9);
+    }
+
+    @Test
+    void onlyDaysAfterTheFitCanBeForecast() {
+        SeasonalForecast forecast = new SeasonalForecast(SUNDAY, 10, 0, new double[7]);
+
+        assertThrows(IllegalArgumentException.class, () -> forecast.forecast(SUNDAY));
+        assertThrows(IllegalArgumentException.class, () -> forecast.forecast(SUNDAY.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> forecast.forecastTotal(SUNDAY, SUNDAY.plusDays(3)));
+    }
+
+    @Test
+    void forecastTotalSumsAnInclusiveRange() {
+        SeasonalForecast forecast = new SeasonalForecast(SUNDAY, 10, 1, new double[7]);
+
+        assertEquals(11 + 12 + 13, forecast.forecastTotal(SUNDAY.plusDays(1), SUNDAY.plusDays(3)), 1e-9);
+        assertEquals(0, forecast.forecastTotal(SUNDAY.plusDays(3), SUNDAY.plusDays(2)), 1e-9);
+    }
+
+    @Test
+    void requiresOneOffsetPerDayOfWeek() {
+        assertThrows(IllegalArgumentException.class, () -> new SeasonalForecast(SUNDAY, 0, 0, new double[6]));
+    }
+
+    @Test
+    void seasonalOffsetsAreCopied() {
+        double[] seasonal = new double[7];
+        SeasonalForecast forecast = new SeasonalForecast(SUNDAY, 10, 0, seasonal);
+        seasonal[0] = 100;
+        forecast.getSeasonal()[0] = 100;
+
+        assertEquals(10, forecast.forecast(SUNDAY.plusDays(1)), 1e-9);
+    }
+}
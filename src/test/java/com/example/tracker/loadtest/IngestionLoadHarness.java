@@ -0,0 +1,92 @@
+package com.example.tracker.loadtest;
+
+import com.example.tracker.fake.FakeAwsConfig;
+import com.example.tracker.fake.FakeAwsSettings;
+import com.example.tracker.service.CloudCostService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// End-to-end nightly ingestion against the fake AWS clients and an embedded database. Not part of
+// the normal build; run with: ./mvnw -Ploadtest test [-Dloadtest.tenants=20000 -Dfake.aws.latency-millis=100]
+@Tag("load")
+@SpringBootTest
+@ActiveProfiles("loadtest")
+@Import(FakeAwsConfig.class)
+class IngestionLoadHarness {
+
+    @Value("${loadtest.tenants}")
+    private int tenants;
+
+    @Value("${loadtest.accounts}")
+    private int accounts;
+
+    @Autowired
+    private CloudCostService cloudCostService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private FakeAwsSettings fakeAwsSettings;
+
+    @Test
+    void nightlyIngestion() {
+        createTenants();
+
+        long start = System.nanoTime();
+        cloudCostService.fetchAndSaveAwsCosts();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Timer succeeded = meterRegistry.get("ingestion.tenant.duration").tag("outcome", "success").timer();
+        double rows = meterRegistry.get("ingestion.rows.persisted").counter().count();
+        Counter failures = meterRegistry.get("ingestion.tenant.failures").counter();
+
+        System.out.printf("Ingested %d tenants (%d failed) and %.0f rows in %.1f s%n",
+                succeeded.count(), (long) failures.count(), rows, seconds);
+        System.out.printf("Throughput: %.1f tenants/s, %.0f rows/s%n", succeeded.count() / seconds, rows / seconds);
+        System.out.println("Tenant ingestion " + percentiles(succeeded));
+        System.out.println("Cost Explorer request " + percentiles(meterRegistry.get("aws.costexplorer.requests").timer()));
+        System.out.println("STS AssumeRole " + percentiles(meterRegistry.get("aws.sts.assume-role").timer()));
+        System.out.println("Simulated throttles: " + fakeAwsSettings.getThrottled());
+
+        assertEquals(tenants, succeeded.count());
+        assertEquals((double) tenants * fakeAwsSettings.getGroupsPerDay(), rows);
+    }
+
+    private void createTenants() {
+        List<Object[]> users = new ArrayList<>(tenants);
+        for (int i = 0; i < tenants; i++) {
+            // Several tenants per AWS account, so the per-account concurrency cap is exercised
+            String accountId = String.format("%012d", 100_000_000_000L + i % accounts);
+            users.add(new Object[]{"tenant" + i, "unused", "arn:aws:iam::" + accountId + ":role/tenant" + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, password, aws_iam_role_arn) VALUES (?, ?, ?)", users);
+    }
+
+    private static String percentiles(Timer timer) {
+        StringBuilder report = new StringBuilder("latency (ms):");
+        for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+            report.append(String.format(" p%.0f=%.1f", value.percentile() * 100, value.value(TimeUnit.MILLISECONDS)));
+        }
+        return report.append(String.format(" max=%.1f", timer.max(TimeUnit.MILLISECONDS))).toString();
+    }
+}
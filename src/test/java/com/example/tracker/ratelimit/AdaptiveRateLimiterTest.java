@@ -0,0 +1,95 @@
+package com.example.tracker.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private long now = 1_000 * SECOND;
+
+    @Test
+    void burstIsAvailableWithoutWaiting() {
+        AdaptiveRateLimiter limiter = limiter(2, 0.5, 10, 0.1, 3);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(SECOND / 2, limiter.reserve());
+    }
+
+    @Test
+    void eachQueuedCallerWaitsOneIntervalLonger() {
+        AdaptiveRateLimiter limiter = limiter(4, 1, 10, 0.1, 1);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(SECOND / 4, limiter.reserve());
+        assertEquals(SECOND / 2, limiter.reserve());
+        assertEquals(-2, limiter.getAvailableTokens(), 1e-9);
+    }
+
+    @Test
+    void tokensRefillAtTheRateUpToTheBurst() {
+        AdaptiveRateLimiter limiter = limiter(2, 0.5, 10, 0.1, 5);
+        for (int i = 0; i < 5; i++) {
+            limiter.reserve();
+        }
+        assertEquals(0, limiter.getAvailableTokens(), 1e-9);
+
+        now += SECOND;
+        assertEquals(2, limiter.getAvailableTokens(), 1e-9);
+
+        now += 60 * SECOND;
+        assertEquals(5, limiter.getAvailableTokens(), 1e-9);
+    }
+
+    @Test
+    void throttleHalvesTheRateDownToTheMinimum() {
+        AdaptiveRateLimiter limiter = limiter(8, 1.5, 10, 0.1, 1);
+
+        limiter.onThrottle();
+        assertEquals(4, limiter.getRate(), 1e-9);
+        limiter.onThrottle();
+        assertEquals(2, limiter.getRate(), 1e-9);
+        limiter.onThrottle();
+        assertEquals(1.5, limiter.getRate(), 1e-9);
+    }
+
+    @Test
+    void throttleDropsTheSavedBurst() {
+        AdaptiveRateLimiter limiter = limiter(2, 0.5, 10, 0.1, 5);
+
+        limiter.onThrottle();
+
+        assertEquals(0, limiter.getAvailableTokens(), 1e-9);
+        assertEquals(SECOND, limiter.reserve()); // One token at the halved rate of 1/s
+    }
+
+    @Test
+    void successAddsAStepUpToTheMaximum() {
+        AdaptiveRateLimiter limiter = limiter(2, 0.5, 3, 0.4, 1);
+
+        limiter.onSuccess();
+        assertEquals(2.4, limiter.getRate(), 1e-9);
+        limiter.onSuccess();
+        limiter.onSuccess();
+        assertEquals(3, limiter.getRate(), 1e-9);
+    }
+
+    @Test
+    void rejectsInconsistentSettings() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(1, 0, 10, 0.1, 1));
+        assertThrows(IllegalArgumentException.class, () -> limiter(0.5, 1, 10, 0.1, 1));
+        assertThrows(IllegalArgumentException.class, () -> limiter(20, 1, 10, 0.1, 1));
+        assertThrows(IllegalArgumentException.class, () -> limiter(2, 1, 10, 0.1, 0.5));
+    }
+
+    private AdaptiveRateLimiter limiter(double initialRate, double minRate, double maxRate, double increasePerSuccess, double burst) {
+        return new AdaptiveRateLimiter("test", initialRate, minRate, maxRate, increasePerSuccess, burst, () -> now);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.tracker.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+    private static final String OTHER_SECRET = Base64.getEncoder().encodeToString(
+            "fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.US_ASCII));
+
+    private static final AuthenticatedUser ALICE = new AuthenticatedUser(42L, "alice", "secret", new ArrayList<>());
+
+    @Test
+    void issuedTokenVerifiesToTheSameUser() throws Exception {
+        TokenService tokenService = tokenService(SECRET, 900);
+
+        Optional<AuthenticatedUser> verified = tokenService.verify(tokenService.issue(ALICE));
+
+        assertTrue(verified.isPresent());
+        assertEquals(42L, verified.get().getUserId());
+        assertEquals("alice", verified.get().getUsername());
+        assertEquals("", verified.get().getPassword());
+    }
+
+    @Test
+    void tokenFromAnotherNodeWithTheSameSecretVerifies() throws Exception {
+        String token = tokenService(SECRET, 900).issue(ALICE);
+
+        assertTrue(tokenService(SECRET, 900).verify(token).isPresent());
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws Exception {
+        TokenService tokenService = tokenService(SECRET, 0);
+
+        assertFalse(tokenService.verify(tokenService.issue(ALICE)).isPresent());
+    }
+
+    @Test
+    void tamperedSignatureIsRejected() throws Exception {
+        TokenService tokenService = tokenService(SECRET, 900);
+        String token = tokenService.issue(ALICE);
+        int lastDot = token.lastIndexOf('.');
+        byte[] signature = Base64.getUrlDecoder().decode(token.substring(lastDot + 1));
+        signature[0] ^= 1;
+        String tampered = token.substring(0, lastDot + 1) + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+
+        assertFalse(tokenService.verify(tampered).isPresent());
+    }
+
+    @Test
+    void tamperedClaimsAreRejected() throws Exception {
+        TokenService tokenService = tokenService(SECRET, 900);
+        String[] parts = tokenService.issue(ALICE).split("\\.");
+        String claims = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8).replace("42", "43");
+        String forged = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(claims.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+
+        assertFalse(tokenService.verify(forged).isPresent());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() throws Exception {
+        String token = tokenService(OTHER_SECRET, 900).issue(ALICE);
+
+        assertFalse(tokenService(SECRET, 900).verify(token).isPresent());
+    }
+
+    @Test
+    void malformedTokensAreRejected() throws Exception {
+        TokenService tokenService = tokenService(SECRET, 900);
+        String[] parts = tokenService.issue(ALICE).split("\\.");
+
+        assertFalse(tokenService.verify("").isPresent());
+        assertFalse(tokenService.verify("not-a-token").isPresent());
+        assertFalse(tokenService.verify("a.b").isPresent());
+        assertFalse(tokenService.verify("..").isPresent());
+        assertFalse(tokenService.verify(parts[0] + "." + parts[1] + ".%%%").isPresent());
+        assertFalse(tokenService.verify(parts[0] + ".%%%." + parts[2]).isPresent());
+        assertFalse(tokenService.verify(parts[0] + "." + parts[1]).isPresent());
+    }
+
+    @Test
+    void missingSecretFailsStartup() {
+        assertThrows(IllegalStateException.class, () -> tokenService("", 900));
+    }
+
+    @Test
+    void shortSecretFailsStartup() {
+        String shortSecret = Base64.getEncoder().encodeToString(new byte[16]);
+
+        assertThrows(IllegalStateException.class, () -> tokenService(shortSecret, 900));
+    }
+
+    @Test
+    void randomSecretIsUsedOnlyWhenAllowed() throws Exception {
+        TokenService tokenService = newTokenService("", 900);
+        ReflectionTestUtils.setField(tokenService, "allowRandomSecret", true);
+        tokenService.init();
+
+        assertTrue(tokenService.verify(tokenService.issue(ALICE)).isPresent());
+    }
+
+    private static TokenService tokenService(String secret, long ttlSeconds) throws Exception {
+        TokenService tokenService = newTokenService(secret, ttlSeconds);
+        tokenService.init();
+        return tokenService;
+    }
+
+    private static TokenService newTokenService(String secret, long ttlSeconds) {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", secret);
+        ReflectionTestUtils.setField(tokenService, "ttlSeconds", ttlSeconds);
+        ReflectionTestUtils.setField(tokenService, "objectMapper", new ObjectMapper());
+        return tokenService;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.tracker.service;
+
+import com.example.tracker.dto.CloudCostRow;
+import com.example.tracker.fake.FakeAwsConfig;
+import com.example.tracker.model.CloudCost;
+import com.example.tracker.model.User;
+import com.example.tracker.repository.CloudCostRepository;
+import com.example.tracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compaction on the load harness's embedded H2 database. H2 has no partitions, so deleting the
+// summarized daily rows stands in for DROP PARTITION. The export and cube reads stream with a
+// MySQL-only fetch size, so the listing is what reads across the boundary here.
+@SpringBootTest
+@ActiveProfiles("loadtest")
+@Import(FakeAwsConfig.class)
+class CostPartitionServiceTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FEBRUARY = LocalDate.of(2024, 2, 1);
+
+    @Autowired
+    private CostPartitionService costPartitionService;
+
+    @Autowired
+    private CloudCostRepository cloudCostRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void listingReadsCompactedMonthsAfterTheDailyRows() {
+        User user = userRepository.save(new User("compaction-listing", "unused", null));
+        // January is compacted; February 1-7 stays daily
+        List<CloudCost> costs = new ArrayList<>();
+        for (LocalDate day = JANUARY; day.isBefore(FEBRUARY.plusDays(7)); day = day.plusDays(1)) {
+            costs.add(new CloudCost("Amazon EC2", 10, "BoxUsage", "us-east-1", day, day.plusDays(1), user));
+            costs.add(new CloudCost("Amazon S3", 1.5, "TimedStorage", "us-east-1", day, day.plusDays(1), user));
+        }
+        cloudCostRepository.upsertAll(costs);
+
+        assertEquals(62, costPartitionService.summarizeMonths(FEBRUARY));
+        jdbcTemplate.update("DELETE FROM cloud_costs WHERE start_date < ?", Date.valueOf(FEBRUARY));
+
+        // Small pages, so one of them straddles the daily and compacted rows
+        List<CloudCostRow> rows = new ArrayList<>();
+        List<CloudCostRow> page;
+        LocalDate cursorDate = null;
+        Long cursorId = null;
+        do {
+            page = cloudCostRepository.findPage(user.getId(), null, null, null, null, null, cursorDate, cursorId, 3);
+            rows.addAll(page);
+            if (!page.isEmpty()) {
+                cursorDate = page.get(page.size() - 1).getStartDate();
+                cursorId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 3);
+
+        assertEquals(16, rows.size());
+        assertEquals(38 * 11.5, rows.stream().mapToDouble(CloudCostRow::getCost).sum(), 1e-9);
+        for (CloudCostRow row : rows.subList(0, 14)) {
+            assertTrue(row.getId() > 0);
+            assertEquals(row.getStartDate().plusDays(1), row.getEndDate());
+        }
+        double januaryTotal = 0;
+        for (CloudCostRow row : rows.subList(14, 16)) {
+            assertTrue(row.getId() < 0);
+            assertEquals(JANUARY, row.getStartDate());
+            assertEquals(FEBRUARY, row.getEndDate());
+            januaryTotal += row.getCost();
+        }
+        assertEquals(31 * 11.5, januaryTotal, 1e-9);
+    }
+
+    @Test
+    void compactedMonthMatchesADateRangeByItsFirstDay() {
+        User user = userRepository.save(new User("compaction-range", "unused", null));
+        List<CloudCost> costs = new ArrayList<>();
+        for (LocalDate day = JANUARY; day.isBefore(FEBRUARY.plusDays(3)); day = day.plusDays(1)) {
+            costs.add(new CloudCost("Amazon EC2", 2, "BoxUsage", "eu-west-1", day, day.plusDays(1), user));
+        }
+        cloudCostRepository.upsertAll(costs);
+        costPartitionService.summarizeMonths(FEBRUARY);
+        jdbcTemplate.update("DELETE FROM cloud_costs WHERE start_date < ?", Date.valueOf(FEBRUARY));
+
+        List<CloudCostRow> acrossBoundary = cloudCostRepository.findPage(user.getId(), JANUARY, FEBRUARY.plusDays(1),
+                null, null, null, null, null, 100);
+        assertEquals(3, acrossBoundary.size());
+        assertEquals(31 * 2 + 2 * 2, acrossBoundary.stream().mapToDouble(CloudCostRow::getCost).sum(), 1e-9);
+
+        List<CloudCostRow> fromMidJanuary = cloudCostRepository.findPage(user.getId(), JANUARY.plusDays(14), null,
+                null, null, null, null, null, 100);
+        assertEquals(3, fromMidJanuary.size());
+        assertTrue(fromMidJanuary.stream().allMatch(row -> row.getId() > 0));
+    }
+}
@@ -0,0 +1,31 @@
+-- Tables the load harness needs that have no JPA entity
+
+-- db/010_job_leases.sql
+CREATE TABLE IF NOT EXISTS job_leases (
+    job_name VARCHAR(64) NOT NULL,
+    shard BIGINT NOT NULL,
+    owner VARCHAR(128),
+    lease_until TIMESTAMP(3),
+    requested_run DATE,
+    completed_run DATE,
+    PRIMARY KEY (job_name, shard)
+);
+
+-- db/011_tenant_data_versions.sql
+CREATE TABLE IF NOT EXISTS tenant_data_versions (
+    user_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+-- db/012_cloud_costs_partitioning.sql; H2 has no partitioning, so CostPartitionService skips its runs
+CREATE TABLE IF NOT EXISTS cloud_costs_monthly (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    usage_month DATE NOT NULL,
+    service_id INT,
+    region_id INT,
+    usage_type_id INT,
+    cost DOUBLE NOT NULL,
+    day_count INT NOT NULL,
+    CONSTRAINT uk_cloud_costs_monthly UNIQUE (user_id, usage_month, service_id, region_id, usage_type_id)
+);